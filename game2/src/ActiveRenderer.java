@@ -0,0 +1,162 @@
+import java.awt.Canvas;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferStrategy;
+import java.lang.reflect.InvocationTargetException;
+import javax.swing.SwingUtilities;
+
+// 主動繪製模式 (-Dgame.activeRendering=true)：戰鬥 / 地圖畫面改用 Canvas + BufferStrategy 翻頁，
+// 不經過 Swing 的 RepaintManager 與雙緩衝，由專用執行緒以固定頻率驅動。手牌與日誌仍是 Swing。
+//
+// 遊戲狀態只在 EDT 上修改，因此每幀的邏輯步與繪製仍以 invokeAndWait 在 EDT 上執行 (與 RepaintScheduler
+// 相同的固定時間步長與內插)，會排在其他 Swing 事件之後；專用執行緒只負責節拍、show() 翻頁與統計。
+// 配合 -Dgame.frameStats=true 每 REPORT_FRAMES 幀印出幀時間、輸入延遲 (滑鼠按下到畫面送出)，
+// 以及 EDT 交接成本 (invokeAndWait 的總時間扣掉在 EDT 上實際更新與繪製的時間)。
+public class ActiveRenderer {
+    private static final long FRAME_NANOS = RepaintScheduler.STEP_NANOS;
+    private static final int MAX_STEPS_PER_FRAME = 10;
+    private static final int REPORT_FRAMES = 300;
+    private static final boolean REPORT_FRAME_STATS = Boolean.getBoolean("game.frameStats");
+
+    private final GamePanel scene;
+    private final Canvas canvas = new Canvas();
+    private final RepaintScheduler.FrameStats stats = new RepaintScheduler.FrameStats();
+    private volatile boolean running = false;
+    private Thread thread;
+    private volatile BufferStrategy strategy;
+    private long accumulator;
+    private long lastFrameNanos;
+    private int steps;
+    private long edtWorkNanos; // 在 EDT 上寫入；invokeAndWait 返回後由繪製執行緒讀取
+
+    // 輸入延遲：EDT 寫入按下時間，繪製執行緒在下一次 show() 後結算
+    private volatile long pendingInputNanos = 0;
+
+    public ActiveRenderer(GamePanel scene) {
+        this.scene = scene;
+        canvas.setIgnoreRepaint(true);
+        canvas.setBackground(GameConstants.BACKGROUND_COLOR);
+        canvas.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                pendingInputNanos = System.nanoTime();
+            }
+        });
+    }
+
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    // Canvas 必須已經 displayable (視窗 setVisible 之後) 才能建立 BufferStrategy
+    public void start() {
+        if (running)
+            return;
+        canvas.createBufferStrategy(2);
+        strategy = canvas.getBufferStrategy();
+        running = true;
+        thread = new Thread(this::renderLoop, "active-renderer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        if (thread != null)
+            thread.interrupt();
+    }
+
+    private void renderLoop() {
+        lastFrameNanos = System.nanoTime();
+        long nextFrame = lastFrameNanos;
+        while (running) {
+            long frameStart = System.nanoTime();
+            try {
+                do {
+                    do {
+                        long handoffStart = System.nanoTime();
+                        SwingUtilities.invokeAndWait(this::updateAndDraw);
+                        stats.recordHandoff(System.nanoTime() - handoffStart - edtWorkNanos);
+                    } while (strategy.contentsRestored());
+                    long inputNanos = pendingInputNanos;
+                    strategy.show();
+                    Toolkit.getDefaultToolkit().sync();
+                    if (inputNanos != 0) {
+                        stats.recordLatency(System.nanoTime() - inputNanos);
+                        pendingInputNanos = 0;
+                    }
+                } while (strategy.contentsLost());
+            } catch (InterruptedException e) {
+                break;
+            } catch (InvocationTargetException e) {
+                e.getCause().printStackTrace();
+            } catch (IllegalStateException e) {
+                // 視窗關閉或切換全螢幕時緩衝區失效，下一幀重建
+                SwingUtilities.invokeLater(() -> {
+                    if (canvas.isDisplayable()) {
+                        canvas.createBufferStrategy(2);
+                        strategy = canvas.getBufferStrategy();
+                    }
+                });
+            }
+            stats.record(System.nanoTime() - frameStart, steps);
+            if (REPORT_FRAME_STATS && stats.frameCount() >= REPORT_FRAMES) {
+                System.out.println("[主動繪製] " + stats);
+                stats.reset();
+            }
+
+            nextFrame += FRAME_NANOS;
+            long sleepNanos = nextFrame - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    Thread.sleep(sleepNanos / 1_000_000L, (int) (sleepNanos % 1_000_000L));
+                } catch (InterruptedException e) {
+                    break;
+                }
+            } else {
+                nextFrame = System.nanoTime(); // 落後時不追趕節拍，邏輯由累積器補跑
+            }
+        }
+    }
+
+    // 在 EDT 上執行：固定時間步長的邏輯更新，然後畫進 BufferStrategy 的後緩衝
+    private void updateAndDraw() {
+        long workStart = System.nanoTime();
+        try {
+            updateAndDrawOnEdt();
+        } finally {
+            edtWorkNanos = System.nanoTime() - workStart;
+        }
+    }
+
+    private void updateAndDrawOnEdt() {
+        long now = System.nanoTime();
+        accumulator += now - lastFrameNanos;
+        lastFrameNanos = now;
+        steps = 0;
+        while (accumulator >= FRAME_NANOS) {
+            if (scene.isAnimating() && steps < MAX_STEPS_PER_FRAME) {
+                scene.updateLogic();
+                steps++;
+            }
+            accumulator -= FRAME_NANOS;
+        }
+        scene.setInterpolation(scene.isAnimating() ? (double) accumulator / FRAME_NANOS : 1.0);
+
+        int width = canvas.getWidth();
+        int height = canvas.getHeight();
+        if (width <= 0 || height <= 0)
+            return;
+        if (scene.getWidth() != width || scene.getHeight() != height)
+            scene.setSize(width, height);
+
+        Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+        try {
+            scene.paintScene(g2d, canvas.getGraphicsConfiguration());
+        } finally {
+            g2d.dispose();
+        }
+    }
+}
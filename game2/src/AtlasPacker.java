@@ -0,0 +1,182 @@
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+// 建置工具：把 img/ 與 img/card/ 下的所有 PNG 各打包成一頁 atlas.png，並寫出共用的索引 img/atlas.idx。
+// 分頁讓 SpriteAtlas 能在多個執行緒上同時解碼。
+// - 原圖多為 500~1300 像素寬，畫面上只用到一兩百像素；已知顯示大小的圖先縮到顯示大小的
+//   ATLAS_DETAIL_SCALE 倍 (保留 HiDPI 的細節)，再以層架 (shelf) 演算法排列。
+// - 索引以「page 圖集路徑」開始一頁，之後每行一筆: 資源路徑 x y 寬 高 原圖CRC32
+//   (路徑與 GameConstants.RES_* 相同，SpriteAtlas 以此查詢；CRC32 讓執行期發現原圖已修改而圖集過期)。
+// 修改或新增圖片後重新執行即可。
+//
+// 用法: java AtlasPacker [資源根目錄 (預設為目前目錄)]
+public class AtlasPacker {
+    private static final String[] SOURCE_DIRS = { "img", "img/card" };
+    private static final int PADDING = 2; // 子圖之間留空，避免縮放取樣時混到鄰圖
+
+    // 顯示大小 (寬, 高)；不在表中的圖以原尺寸打包
+    private static final Map<String, int[]> DISPLAY_SIZES = new HashMap<>();
+
+    static {
+        DISPLAY_SIZES.put(GameConstants.RES_PLAYER_IMAGE,
+                new int[] { GameConstants.PLAYER_IMAGE_WIDTH, GameConstants.PLAYER_IMAGE_HEIGHT });
+        DISPLAY_SIZES.put(GameConstants.RES_ENEMY_IMAGE,
+                new int[] { GameConstants.ENEMY_IMAGE_WIDTH, GameConstants.ENEMY_IMAGE_HEIGHT });
+        DISPLAY_SIZES.put(GameConstants.RES_BOSS_IMAGE,
+                new int[] { GameConstants.BOSS_IMAGE_WIDTH, GameConstants.BOSS_IMAGE_HEIGHT });
+        DISPLAY_SIZES.put(GameConstants.RES_ATTACK0_IMAGE,
+                new int[] { GameConstants.ATTACK0_IMAGE_WIDTH, GameConstants.ATTACK0_IMAGE_HEIGHT });
+        DISPLAY_SIZES.put(GameConstants.RES_ATTACK1_IMAGE,
+                new int[] { GameConstants.ATTACK1_IMAGE_WIDTH, GameConstants.ATTACK1_IMAGE_HEIGHT });
+        for (CardDefinition definition : CardRegistry.all()) {
+            if (definition.imagePath != null)
+                DISPLAY_SIZES.put(definition.imagePath,
+                        new int[] { GameConstants.CARD_IMAGE_WIDTH, GameConstants.CARD_IMAGE_HEIGHT });
+        }
+    }
+
+    private static final class Entry {
+        final String path;
+        final BufferedImage image;
+        final int crc;
+        int x, y;
+
+        Entry(String path, BufferedImage image, int crc) {
+            this.path = path;
+            this.image = image;
+            this.crc = crc;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        File root = new File(args.length > 0 ? args[0] : ".");
+        try (PrintWriter index = new PrintWriter(new File(root, GameConstants.RES_ATLAS_INDEX),
+                StandardCharsets.UTF_8)) {
+            for (String dir : SOURCE_DIRS)
+                packPage(root, dir, index);
+        }
+    }
+
+    private static void packPage(File root, String dir, PrintWriter index) throws IOException {
+        File[] files = new File(root, dir).listFiles((d, name) -> name.endsWith(".png")
+                && !name.equals(GameConstants.ATLAS_PAGE_NAME));
+        if (files == null || files.length == 0) {
+            System.err.println("No images found under " + new File(root, dir).getAbsolutePath());
+            return;
+        }
+        Arrays.sort(files);
+        List<Entry> entries = new ArrayList<>();
+        long sourceBytes = 0;
+        for (File file : files) {
+            String path = dir + "/" + file.getName();
+            BufferedImage source = ImageIO.read(file);
+            if (source == null) {
+                System.err.println("Skipping unreadable image: " + path);
+                continue;
+            }
+            sourceBytes += file.length();
+            int crc;
+            try (InputStream in = new FileInputStream(file)) {
+                crc = SpriteAtlas.crc32(in);
+            }
+            entries.add(new Entry(path, shrink(source, DISPLAY_SIZES.get(path)), crc));
+        }
+
+        // 依高度排序後，嘗試數種寬度，取面積最小的排法
+        entries.sort((a, b) -> b.image.getHeight() - a.image.getHeight());
+        int bestWidth = 0;
+        long bestArea = Long.MAX_VALUE;
+        for (int width = 256; width <= 8192; width *= 2) {
+            int height = layout(entries, width);
+            if (height > 0 && (long) width * height < bestArea) {
+                bestArea = (long) width * height;
+                bestWidth = width;
+            }
+        }
+        int atlasHeight = layout(entries, bestWidth);
+
+        BufferedImage atlas = new BufferedImage(bestWidth, atlasHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = atlas.createGraphics();
+        for (Entry entry : entries)
+            g2d.drawImage(entry.image, entry.x, entry.y, null);
+        g2d.dispose();
+
+        String pagePath = dir + "/" + GameConstants.ATLAS_PAGE_NAME;
+        File atlasFile = new File(root, pagePath);
+        ImageIO.write(atlas, "png", atlasFile);
+        index.println("page " + pagePath);
+        for (Entry entry : entries) {
+            index.println(entry.path + " " + entry.x + " " + entry.y + " " + entry.image.getWidth() + " "
+                    + entry.image.getHeight() + " " + String.format("%08x", entry.crc));
+        }
+        System.out.println(String.format("%d 張圖 -> %s %dx%d (%,d bytes，原圖共 %,d bytes)", entries.size(),
+                pagePath, bestWidth, atlasHeight, atlasFile.length(), sourceBytes));
+    }
+
+    // 層架排列：由左至右放，放不下就換到下一層。回傳總高度，寬度不夠放任一張圖時回傳 -1
+    private static int layout(List<Entry> entries, int width) {
+        int x = 0;
+        int y = 0;
+        int shelfHeight = 0;
+        for (Entry entry : entries) {
+            int w = entry.image.getWidth() + PADDING;
+            if (w > width)
+                return -1;
+            if (x + w > width) {
+                x = 0;
+                y += shelfHeight;
+                shelfHeight = 0;
+            }
+            entry.x = x;
+            entry.y = y;
+            x += w;
+            shelfHeight = Math.max(shelfHeight, entry.image.getHeight() + PADDING);
+        }
+        return y + shelfHeight;
+    }
+
+    // 縮到至少顯示大小的 ATLAS_DETAIL_SCALE 倍 (保持長寬比、不放大)；每次最多縮一半以維持品質
+    private static BufferedImage shrink(BufferedImage source, int[] displaySize) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        if (displaySize == null)
+            return toArgb(source, width, height);
+        double factor = Math.max(displaySize[0] * GameConstants.ATLAS_DETAIL_SCALE / width,
+                displaySize[1] * GameConstants.ATLAS_DETAIL_SCALE / height);
+        if (factor >= 1)
+            return toArgb(source, width, height);
+        int targetWidth = (int) Math.ceil(width * factor);
+        int targetHeight = (int) Math.ceil(height * factor);
+
+        BufferedImage image = source;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            image = toArgb(image, width, height);
+        } while (width > targetWidth || height > targetHeight);
+        return image;
+    }
+
+    private static BufferedImage toArgb(BufferedImage source, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.drawImage(source, 0, 0, width, height, null);
+        g2d.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,240 @@
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// 平衡模擬器：以 fork/join 在所有核心上跑大量固定種子的戰鬥，
+// 統計每種遭遇 (ENEMY/ELITE/BOSS) 的勝率、擊殺回合數與損失生命分佈。
+//
+// 用法: java BalanceSimulator [每種遭遇場數] [種子] [執行緒數]
+public class BalanceSimulator {
+    public static final NodeType[] ENCOUNTERS = { NodeType.ENEMY, NodeType.ELITE, NodeType.BOSS };
+    private static final int LEAF_SIZE = 4096;
+    private static final int MAX_TURNS = 100; // 超過視為僵局 (算作失敗)
+
+    private final long seed;
+    private final ForkJoinPool pool;
+    private final Supplier<CombatPolicy> policyFactory;
+    private final Map<NodeType, EncounterStats> results = new EnumMap<>(NodeType.class);
+
+    public BalanceSimulator(long seed, int parallelism, Supplier<CombatPolicy> policyFactory) {
+        this.seed = seed;
+        this.pool = new ForkJoinPool(parallelism);
+        this.policyFactory = policyFactory;
+    }
+
+    // 每種遭遇各跑 combatsPerType 場；執行期間每隔 progressMillis 回報一次目前累計結果
+    public Map<NodeType, EncounterStats> run(long combatsPerType, long progressMillis,
+            Consumer<Map<NodeType, EncounterStats>> progress) {
+        synchronized (results) {
+            results.clear();
+            for (NodeType type : ENCOUNTERS) {
+                results.put(type, new EncounterStats());
+            }
+        }
+
+        List<SimulationTask> tasks = new ArrayList<>();
+        for (NodeType type : ENCOUNTERS) {
+            tasks.add(new SimulationTask(type, 0, combatsPerType));
+        }
+        ForkJoinTask<?> root = pool.submit(() -> ForkJoinTask.invokeAll(tasks));
+
+        while (true) {
+            try {
+                root.get(progressMillis, TimeUnit.MILLISECONDS);
+                break;
+            } catch (TimeoutException e) {
+                if (progress != null)
+                    progress.accept(snapshot());
+            } catch (InterruptedException e) {
+                root.cancel(true);
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Simulation failed", e.getCause());
+            }
+        }
+        return snapshot();
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    public Map<NodeType, EncounterStats> snapshot() {
+        Map<NodeType, EncounterStats> copy = new EnumMap<>(NodeType.class);
+        synchronized (results) {
+            for (Map.Entry<NodeType, EncounterStats> entry : results.entrySet()) {
+                EncounterStats stats = new EncounterStats();
+                stats.merge(entry.getValue());
+                copy.put(entry.getKey(), stats);
+            }
+        }
+        return copy;
+    }
+
+    private void publish(NodeType type, EncounterStats partial) {
+        synchronized (results) {
+            results.get(type).merge(partial);
+        }
+    }
+
+    // 每場戰鬥的種子只由 (總種子, 遭遇, 場次) 決定，與切分方式及執行緒數無關
+    static long combatSeed(long seed, NodeType type, long index) {
+        return GameRandom.mix64(seed + (type.ordinal() + 1) * 0x9E3779B97F4A7C15L + index * 0xBF58476D1CE4E5B9L);
+    }
+
+    private class SimulationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final NodeType type;
+        private final long from;
+        private final long to;
+
+        SimulationTask(NodeType type, long from, long to) {
+            this.type = type;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                simulateRange();
+                return;
+            }
+            long mid = (from + to) >>> 1;
+            invokeAll(new SimulationTask(type, from, mid), new SimulationTask(type, mid, to));
+        }
+
+        private void simulateRange() {
+            // 每個葉節點擁有自己的 Player / CombatEngine，不與其他執行緒共享狀態
+            GameRandom random = new GameRandom(seed);
+            Player player = new Player(GameConstants.PLAYER_MAX_HEALTH);
+            List<Card> starterDeck = Card.createStarterDeck();
+            CombatEngine engine = new CombatEngine(player, random);
+            CombatPolicy policy = policyFactory.get();
+            EncounterStats local = new EncounterStats();
+
+            for (long i = from; i < to; i++) {
+                random.reseed(combatSeed(seed, type, i));
+                player.health = player.maxHealth;
+                player.block = 0;
+                player.piles.setCards(starterDeck);
+                player.piles.shuffleDrawPile(random);
+
+                engine.spawnEnemies(type);
+                CombatEngine.Result result = engine.start();
+                while (result == CombatEngine.Result.ONGOING && engine.turn <= MAX_TURNS) {
+                    int action = policy.chooseAction(engine);
+                    if (action == CombatPolicy.END_TURN) {
+                        result = engine.endTurn();
+                    } else {
+                        result = engine.playCard(action, 0);
+                        if (result == CombatEngine.Result.INVALID)
+                            result = engine.endTurn();
+                    }
+                }
+                local.record(result == CombatEngine.Result.VICTORY, engine.turn,
+                        player.maxHealth - Math.max(0, player.health));
+            }
+            publish(type, local);
+        }
+    }
+
+    public static class EncounterStats {
+        public long combats;
+        public long wins;
+        public final long[] turnsToKill = new long[MAX_TURNS + 2];
+        public final long[] hpLost = new long[GameConstants.PLAYER_MAX_HEALTH + 1];
+
+        void record(boolean victory, int turns, int lost) {
+            combats++;
+            if (victory) {
+                wins++;
+                turnsToKill[Math.min(turns, turnsToKill.length - 1)]++;
+            }
+            hpLost[Math.min(Math.max(lost, 0), hpLost.length - 1)]++;
+        }
+
+        void merge(EncounterStats other) {
+            combats += other.combats;
+            wins += other.wins;
+            for (int i = 0; i < turnsToKill.length; i++)
+                turnsToKill[i] += other.turnsToKill[i];
+            for (int i = 0; i < hpLost.length; i++)
+                hpLost[i] += other.hpLost[i];
+        }
+
+        public double winRate() {
+            return combats == 0 ? 0 : (double) wins / combats;
+        }
+
+        public static double mean(long[] histogram) {
+            long count = 0;
+            double sum = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                count += histogram[i];
+                sum += (double) i * histogram[i];
+            }
+            return count == 0 ? 0 : sum / count;
+        }
+
+        public static int percentile(long[] histogram, double p) {
+            long count = 0;
+            for (long c : histogram)
+                count += c;
+            long rank = (long) Math.ceil(p * count);
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen >= rank && seen > 0)
+                    return i;
+            }
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("場數 %,d | 勝率 %.2f%% | 擊殺回合 平均 %.2f p50 %d p90 %d | 損失生命 平均 %.1f p50 %d p90 %d",
+                    combats, winRate() * 100, mean(turnsToKill), percentile(turnsToKill, 0.5),
+                    percentile(turnsToKill, 0.9), mean(hpLost), percentile(hpLost, 0.5), percentile(hpLost, 0.9));
+        }
+    }
+
+    private static void print(Map<NodeType, EncounterStats> stats) {
+        for (Map.Entry<NodeType, EncounterStats> entry : stats.entrySet()) {
+            System.out.println(String.format("  %-5s %s", entry.getKey(), entry.getValue()));
+        }
+    }
+
+    public static void main(String[] args) {
+        long combats = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        BalanceSimulator simulator = new BalanceSimulator(seed, threads, GreedyPolicy::new);
+        long start = System.nanoTime();
+        Map<NodeType, EncounterStats> result = simulator.run(combats, 1000, partial -> {
+            long done = 0;
+            for (EncounterStats s : partial.values())
+                done += s.combats;
+            System.out.println(String.format("進度 %,d / %,d", done, combats * ENCOUNTERS.length));
+            print(partial);
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+        simulator.shutdown();
+
+        System.out.println(String.format("完成：%,d 場戰鬥，%d 執行緒，%.2f 秒 (%,.0f 場/秒)",
+                combats * ENCOUNTERS.length, threads, seconds, combats * ENCOUNTERS.length / seconds));
+        print(result);
+    }
+}
@@ -1,15 +1,50 @@
+import java.util.ArrayList;
+import java.util.List;
+
 public class Card {
+    public CardDefinition definition;
     public String name;
     public String description;
     public int energyCost;
     public int value;
     public CardType type;
 
-    public Card(String name, String description, int cost, int value, CardType type) {
-        this.name = name;
-        this.description = description;
-        this.energyCost = cost;
-        this.value = value;
-        this.type = type;
+    public Card(CardDefinition definition) {
+        this.definition = definition;
+        this.name = definition.name;
+        this.description = definition.description;
+        this.energyCost = definition.cost;
+        this.value = definition.value;
+        this.type = definition.type;
+    }
+
+    public boolean canUpgrade() {
+        return definition.upgrade != null;
+    }
+
+    public void upgrade() {
+        CardDefinition upgraded = definition.upgrade;
+        if (upgraded == null)
+            return;
+        definition = upgraded;
+        name = upgraded.name;
+        description = upgraded.description;
+        energyCost = upgraded.cost;
+        value = upgraded.value;
+        type = upgraded.type;
+    }
+
+    // 初始牌組: 8 打擊, 4 防禦, 重擊, 治療術
+    public static List<Card> createStarterDeck() {
+        List<Card> deck = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            deck.add(new Card(CardRegistry.STRIKE));
+        }
+        for (int i = 0; i < 4; i++) {
+            deck.add(new Card(CardRegistry.DEFEND));
+        }
+        deck.add(new Card(CardRegistry.HEAVY_STRIKE));
+        deck.add(new Card(CardRegistry.HEAL));
+        return deck;
     }
 }
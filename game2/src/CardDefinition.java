@@ -0,0 +1,49 @@
+// 一種卡牌的靜態定義。效果在載入時就解析成 opcode 與處理器，
+// 打牌時直接呼叫 effect，不需要比對卡牌名稱。
+public class CardDefinition {
+    public static final int OP_DAMAGE = 0;
+    public static final int OP_BLOCK = 1;
+    public static final int OP_HEAL = 2;
+    public static final int OP_ENERGY = 3;
+
+    public final int id;
+    public final String name;
+    public final String description;
+    public final int cost;
+    public final int value;
+    public final CardType type;
+    public final int opcode;
+    public final int selfDamage;
+    public final String imagePath;
+    public final CardEffect effect;
+    public CardDefinition upgrade; // 鍛造後的版本 (沒有則為 null)
+    public boolean upgraded = false;
+
+    CardDefinition(int id, String name, String description, int cost, int value, CardType type, int opcode,
+            int selfDamage, String imagePath, CardEffect effect) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.cost = cost;
+        this.value = value;
+        this.type = type;
+        this.opcode = opcode;
+        this.selfDamage = selfDamage;
+        this.imagePath = imagePath;
+        this.effect = effect;
+    }
+
+    // 手牌按鈕上的數值標籤
+    public String valueLabel() {
+        switch (opcode) {
+            case OP_DAMAGE:
+                return "傷害";
+            case OP_HEAL:
+                return "治療";
+            case OP_ENERGY:
+                return "費用";
+            default:
+                return "防禦";
+        }
+    }
+}
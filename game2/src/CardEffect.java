@@ -0,0 +1,4 @@
+// 卡牌效果處理器，於註冊時綁定到 CardDefinition；回傳 false 代表玩家因副作用死亡。
+public interface CardEffect {
+    boolean apply(CombatEngine engine, Card card, Enemy target);
+}
@@ -0,0 +1,105 @@
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import javax.swing.GrayFilter;
+import javax.swing.ImageIcon;
+
+// 合成後的卡面 (卡圖 + 費用圓標) 快取，以 (卡牌種類, 費用, 是否升級, 可否打出) 為鍵。
+// 手牌每次更新都會重建按鈕，重複的卡面直接取用，不再每張配置 BufferedImage / Graphics2D。
+// 鍵壓成一個 int，容量固定、以線性搜尋加最久未用淘汰 (容量很小，比雜湊表快且不需裝箱)。
+// 只供 EDT 使用。
+public final class CardFaceCache {
+    private static final Font COST_FONT = GameConstants.UI_FONT.deriveFont(Font.BOLD, 24f);
+    private static final Color COST_BACKGROUND = new Color(0, 0, 0, 150);
+    private static final int PADDING = 10;
+
+    private final int[] keys;
+    private final ImageIcon[] faces;
+    private final long[] lastUsed;
+    private int size;
+    private long clock;
+    private long hits;
+    private long misses;
+
+    public CardFaceCache(int capacity) {
+        keys = new int[capacity];
+        faces = new ImageIcon[capacity];
+        lastUsed = new long[capacity];
+    }
+
+    // 不可打出的卡面是灰階版本，按鈕停用時也用它，Swing 就不會每次另外產生灰階圖示
+    public ImageIcon get(Card card, Image art, boolean playable) {
+        int key = key(card, playable);
+        clock++;
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) {
+                lastUsed[i] = clock;
+                hits++;
+                return faces[i];
+            }
+        }
+        misses++;
+
+        int slot = size < keys.length ? size++ : leastRecentlyUsed();
+        keys[slot] = key;
+        faces[slot] = compose(card, art, playable);
+        lastUsed[slot] = clock;
+        return faces[slot];
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    // 卡牌種類 20 位元 | 費用 10 位元 | 升級 | 可打出
+    private static int key(Card card, boolean playable) {
+        return card.definition.id << 12 | (card.energyCost & 0x3FF) << 2 | (card.definition.upgraded ? 2 : 0)
+                | (playable ? 1 : 0);
+    }
+
+    private int leastRecentlyUsed() {
+        int oldest = 0;
+        for (int i = 1; i < size; i++) {
+            if (lastUsed[i] < lastUsed[oldest])
+                oldest = i;
+        }
+        return oldest;
+    }
+
+    private static ImageIcon compose(Card card, Image art, boolean playable) {
+        int width = GameConstants.CARD_IMAGE_WIDTH;
+        int height = GameConstants.CARD_IMAGE_HEIGHT;
+        BufferedImage face = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = face.createGraphics();
+
+        // 1. 卡圖
+        g2d.drawImage(art, 0, 0, width, height, null);
+
+        // 2. 左下角的費用
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setFont(COST_FONT);
+        String costText = String.valueOf(card.energyCost);
+        FontMetrics fm = g2d.getFontMetrics();
+        int costW = fm.stringWidth(costText);
+        int costH = fm.getAscent();
+        int costX = PADDING;
+        int costY = height - PADDING;
+
+        g2d.setColor(COST_BACKGROUND);
+        g2d.fillOval(costX - 5, costY - costH - 5, Math.max(costW, costH) + 20, Math.max(costW, costH) + 20);
+        g2d.setColor(Color.WHITE);
+        g2d.drawString(costText, costX + 5, costY);
+        g2d.dispose();
+
+        // 與 Swing 停用按鈕自動產生的灰階圖示相同
+        return new ImageIcon(playable ? face : GrayFilter.createDisabledImage(face));
+    }
+}
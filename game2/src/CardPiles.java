@@ -0,0 +1,277 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+// 牌組 / 手牌 / 棄牌堆共用一個 int[]，以兩個邊界切成三段：
+//
+// order: [0, drawEnd) 抽牌堆 (頂端在 drawEnd - 1) | [drawEnd, handEnd) 手牌 | [handEnd, size) 棄牌堆
+//
+// 陣列中存的是卡牌 id (cards[] 的索引)，抽牌、棄牌、重洗都只是移動邊界或交換 int，不配置任何物件。
+// deck() / hand() / discardPile() 提供與原本 List<Card> 相容的視圖給 UI 與事件使用。
+public class CardPiles {
+    private static final int DRAW = 0;
+    private static final int HAND = 1;
+    private static final int DISCARD = 2;
+
+    private Card[] cards = new Card[16];
+    private int[] order = new int[16];
+    private int drawEnd = 0;
+    private int handEnd = 0;
+    private int size = 0;
+
+    private final List<Card> deckView = new PileView(DRAW);
+    private final List<Card> handView = new PileView(HAND);
+    private final List<Card> discardView = new PileView(DISCARD);
+
+    public List<Card> deck() {
+        return deckView;
+    }
+
+    public List<Card> hand() {
+        return handView;
+    }
+
+    public List<Card> discardPile() {
+        return discardView;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int drawCount() {
+        return drawEnd;
+    }
+
+    public int handCount() {
+        return handEnd - drawEnd;
+    }
+
+    public int discardCount() {
+        return size - handEnd;
+    }
+
+    public Card handCard(int handIndex) {
+        return cards[order[drawEnd + handIndex]];
+    }
+
+    // 以指定卡牌取代全部內容，全部放入抽牌堆 (保留陣列容量)
+    public void setCards(List<Card> newCards) {
+        for (int i = newCards.size(); i < size; i++)
+            cards[i] = null;
+        size = 0;
+        drawEnd = 0;
+        handEnd = 0;
+        ensureCapacity(newCards.size());
+        for (int i = 0; i < newCards.size(); i++) {
+            cards[i] = newCards.get(i);
+            order[i] = i;
+        }
+        size = newCards.size();
+        drawEnd = size;
+        handEnd = size;
+    }
+
+    public void copyFrom(CardPiles other) {
+        ensureCapacity(other.size);
+        for (int i = other.size; i < size; i++)
+            cards[i] = null;
+        System.arraycopy(other.cards, 0, cards, 0, other.size);
+        System.arraycopy(other.order, 0, order, 0, other.size);
+        drawEnd = other.drawEnd;
+        handEnd = other.handEnd;
+        size = other.size;
+    }
+
+    // --- 快照 (CombatState) 用：只複製排列與邊界，不複製卡牌物件 ---
+
+    public int handEnd() {
+        return handEnd;
+    }
+
+    public void saveOrder(int[] dest) {
+        System.arraycopy(order, 0, dest, 0, size);
+    }
+
+    public void restoreOrder(int[] src, int drawEnd, int handEnd, int size) {
+        if (size != this.size)
+            throw new IllegalStateException("Card count changed since snapshot: " + size + " vs " + this.size);
+        System.arraycopy(src, 0, order, 0, size);
+        this.drawEnd = drawEnd;
+        this.handEnd = handEnd;
+    }
+
+    // 回傳是否發生了牌組重洗
+    public boolean draw(int amount, GameRandom random) {
+        boolean reshuffled = false;
+        for (int i = 0; i < amount; i++) {
+            if (drawEnd == 0) {
+                if (handEnd == size)
+                    break;
+                reshuffleDiscardIntoDraw(random);
+                reshuffled = true;
+            }
+            drawEnd--; // 抽牌堆頂端的牌直接成為手牌的第一張
+        }
+        return reshuffled;
+    }
+
+    public void discardFromHand(int handIndex) {
+        int pos = drawEnd + handIndex;
+        int last = handEnd - 1;
+        int id = order[pos];
+        order[pos] = order[last];
+        order[last] = id;
+        handEnd--;
+    }
+
+    public void discardHand() {
+        handEnd = drawEnd;
+    }
+
+    // 戰鬥結束：所有牌回到抽牌堆
+    public void gatherIntoDrawPile() {
+        drawEnd = size;
+        handEnd = size;
+    }
+
+    public void shuffleDrawPile(GameRandom random) {
+        for (int i = drawEnd - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+    }
+
+    private void reshuffleDiscardIntoDraw(GameRandom random) {
+        // 抽牌堆為空時排列為 [手牌 | 棄牌]；左旋 handCount 格變成 [棄牌 | 手牌]
+        int handCount = handEnd;
+        reverse(0, handCount);
+        reverse(handCount, size);
+        reverse(0, size);
+        drawEnd = size - handCount;
+        handEnd = size;
+        shuffleDrawPile(random);
+    }
+
+    private void reverse(int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= order.length)
+            return;
+        int newLength = Math.max(capacity, order.length * 2);
+        order = Arrays.copyOf(order, newLength);
+        cards = Arrays.copyOf(cards, newLength);
+    }
+
+    // --- 非戰鬥中的增刪 (商店、寶箱)，O(n) 即可 ---
+
+    private void insert(int pile, Card card) {
+        ensureCapacity(size + 1);
+        int id = size;
+        cards[id] = card;
+
+        int pos;
+        if (pile == DRAW) {
+            pos = 0; // 放到牌組底部，與原本 deck.add 相同
+            drawEnd++;
+            handEnd++;
+        } else if (pile == HAND) {
+            pos = handEnd;
+            handEnd++;
+        } else {
+            pos = size;
+        }
+        System.arraycopy(order, pos, order, pos + 1, size - pos);
+        order[pos] = id;
+        size++;
+    }
+
+    private Card removeAt(int pos) {
+        int removedId = order[pos];
+        Card removed = cards[removedId];
+        System.arraycopy(order, pos + 1, order, pos, size - pos - 1);
+        if (pos < drawEnd)
+            drawEnd--;
+        if (pos < handEnd)
+            handEnd--;
+        size--;
+
+        // 讓 id 保持連續：把最後一個 id 搬到被移除的位置
+        int lastId = size;
+        if (removedId != lastId) {
+            cards[removedId] = cards[lastId];
+            for (int i = 0; i < size; i++) {
+                if (order[i] == lastId) {
+                    order[i] = removedId;
+                    break;
+                }
+            }
+        }
+        cards[lastId] = null;
+        return removed;
+    }
+
+    private int position(int pile, int index) {
+        switch (pile) {
+            case DRAW:
+                return drawEnd - 1 - index; // index 0 = 下一張要抽的牌
+            case HAND:
+                return drawEnd + index;
+            default:
+                return handEnd + index;
+        }
+    }
+
+    private int count(int pile) {
+        switch (pile) {
+            case DRAW:
+                return drawCount();
+            case HAND:
+                return handCount();
+            default:
+                return discardCount();
+        }
+    }
+
+    private class PileView extends AbstractList<Card> {
+        private final int pile;
+
+        PileView(int pile) {
+            this.pile = pile;
+        }
+
+        @Override
+        public Card get(int index) {
+            if (index < 0 || index >= count(pile))
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count(pile));
+            return cards[order[position(pile, index)]];
+        }
+
+        @Override
+        public int size() {
+            return count(pile);
+        }
+
+        @Override
+        public void add(int index, Card card) {
+            if (index != count(pile))
+                throw new UnsupportedOperationException("Cards can only be appended to a pile");
+            insert(pile, card);
+        }
+
+        @Override
+        public Card remove(int index) {
+            if (index < 0 || index >= count(pile))
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count(pile));
+            return removeAt(position(pile, index));
+        }
+    }
+}
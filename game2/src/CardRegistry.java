@@ -0,0 +1,94 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// 所有卡牌種類的註冊表；id 即為陣列索引。新增卡牌只需在這裡註冊一次。
+public final class CardRegistry {
+    private static final List<CardDefinition> DEFINITIONS = new ArrayList<>();
+
+    // opcode -> 處理器
+    private static final CardEffect[] HANDLERS = {
+            CardRegistry::damage, // OP_DAMAGE
+            (engine, card, target) -> { // OP_BLOCK
+                engine.gainBlock(card.value);
+                return true;
+            },
+            (engine, card, target) -> { // OP_HEAL
+                engine.heal(card.value);
+                return true;
+            },
+            (engine, card, target) -> { // OP_ENERGY
+                engine.gainEnergy(card, card.value);
+                return true;
+            },
+    };
+
+    public static final CardDefinition STRIKE = register("打擊", "造成 " + GameConstants.STRIKE_DAMAGE + " 點傷害",
+            GameConstants.STRIKE_COST, GameConstants.STRIKE_DAMAGE, CardType.ATTACK, CardDefinition.OP_DAMAGE, 0,
+            GameConstants.RES_CARD_ATTACK_6);
+    public static final CardDefinition STRIKE_PLUS = register("重打+",
+            "造成 " + GameConstants.STRIKE_UPGRADED_DAMAGE + " 點傷害", GameConstants.STRIKE_COST,
+            GameConstants.STRIKE_UPGRADED_DAMAGE, CardType.ATTACK, CardDefinition.OP_DAMAGE, 0,
+            GameConstants.RES_CARD_ATTACK_9);
+    public static final CardDefinition DEFEND = register("防禦", "獲得 " + GameConstants.DEFEND_BLOCK + " 點防禦",
+            GameConstants.DEFEND_COST, GameConstants.DEFEND_BLOCK, CardType.SKILL, CardDefinition.OP_BLOCK, 0,
+            GameConstants.RES_CARD_DEFENSE_5);
+    public static final CardDefinition HEAVY_STRIKE = register("重擊",
+            "造成 " + GameConstants.HEAVY_STRIKE_DAMAGE + " 點傷害", GameConstants.HEAVY_STRIKE_COST,
+            GameConstants.HEAVY_STRIKE_DAMAGE, CardType.ATTACK, CardDefinition.OP_DAMAGE, 0,
+            GameConstants.RES_CARD_ATTACK_15);
+    public static final CardDefinition HEAL = register("治療術", "恢復 " + GameConstants.HEAL_AMOUNT + " 點生命",
+            GameConstants.HEAL_COST, GameConstants.HEAL_AMOUNT, CardType.SKILL, CardDefinition.OP_HEAL, 0,
+            GameConstants.RES_CARD_HEAL);
+    public static final CardDefinition RAMPAGE = register("狂暴",
+            "造成 " + GameConstants.RAMPAGE_DAMAGE + " 點傷害，但本回合額外承受 " + GameConstants.RAMPAGE_SELF_DAMAGE
+                    + " 點傷害",
+            GameConstants.RAMPAGE_COST, GameConstants.RAMPAGE_DAMAGE, CardType.ATTACK, CardDefinition.OP_DAMAGE,
+            GameConstants.RAMPAGE_SELF_DAMAGE, GameConstants.RES_CARD_ATTACK_20);
+    public static final CardDefinition BARRIER = register("壁壘", "獲得 " + GameConstants.BARRIER_BLOCK + " 點防禦",
+            GameConstants.BARRIER_COST, GameConstants.BARRIER_BLOCK, CardType.SKILL, CardDefinition.OP_BLOCK, 0,
+            GameConstants.RES_CARD_DEFENSE_12);
+    public static final CardDefinition ENERGY_BURST = register("能量爆發",
+            "獲得 " + GameConstants.ENERGY_BURST_AMOUNT + " 點額外能量", GameConstants.ENERGY_BURST_COST,
+            GameConstants.ENERGY_BURST_AMOUNT, CardType.SKILL, CardDefinition.OP_ENERGY, 0,
+            GameConstants.RES_CARD_BUFF);
+
+    static {
+        STRIKE.upgrade = STRIKE_PLUS;
+        STRIKE_PLUS.upgraded = true;
+    }
+
+    private CardRegistry() {
+    }
+
+    public static CardDefinition register(String name, String description, int cost, int value, CardType type,
+            int opcode, int selfDamage, String imagePath) {
+        CardDefinition definition = new CardDefinition(DEFINITIONS.size(), name, description, cost, value, type,
+                opcode, selfDamage, imagePath, HANDLERS[opcode]);
+        DEFINITIONS.add(definition);
+        return definition;
+    }
+
+    public static CardDefinition get(int id) {
+        return DEFINITIONS.get(id);
+    }
+
+    public static int size() {
+        return DEFINITIONS.size();
+    }
+
+    public static List<CardDefinition> all() {
+        return Collections.unmodifiableList(DEFINITIONS);
+    }
+
+    private static boolean damage(CombatEngine engine, Card card, Enemy target) {
+        int selfDamage = card.definition.selfDamage;
+        if (selfDamage > 0) {
+            engine.selfDamage(card, selfDamage);
+            if (engine.player.health <= 0)
+                return false;
+        }
+        engine.attack(target, card.value);
+        return true;
+    }
+}
@@ -0,0 +1,290 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// 純規則的戰鬥核心：沒有 UI 回呼、沒有動畫排程。
+// 每個動作同步執行並直接回傳結果，供 CombatManager 與離線模擬共用。
+// 發生的事情以 GameEvent 送到 eventSink (預設 NONE，模擬時不產生任何文字)。
+public class CombatEngine {
+    public enum Result {
+        ONGOING, VICTORY, DEFEAT, INVALID
+    }
+
+    public static final int HAND_SIZE = 5;
+
+    public final Player player;
+    public final List<Enemy> enemies = new ArrayList<>();
+    public final List<Enemy> roster = new ArrayList<>(); // 本場戰鬥生成的所有敵人 (含已死亡)，供快照使用
+    public boolean inCombat = false;
+    public boolean playerTurn = false;
+    public int comboCount = 0;
+    public int turn = 0;
+    private final GameRandom random;
+    private GameEventSink eventSink = GameEventSink.NONE;
+
+    public CombatEngine(Player player, GameRandom random) {
+        this.player = player;
+        this.random = random;
+    }
+
+    public static Enemy createEnemy(NodeType type) {
+        switch (type) {
+            case ENEMY:
+                return new Enemy(GameConstants.ENEMY_SMALL_HP, "小怪", GameConstants.ENEMY_SMALL_DMG);
+            case ELITE:
+                return new Enemy(GameConstants.ENEMY_ELITE_HP, "精英怪", GameConstants.ENEMY_ELITE_DMG);
+            case BOSS:
+                return new Enemy(GameConstants.ENEMY_BOSS_HP, "最終首領", GameConstants.ENEMY_BOSS_DMG);
+            default:
+                return null;
+        }
+    }
+
+    public void spawnEnemies(NodeType type) {
+        enemies.clear();
+        roster.clear();
+        Enemy enemy = createEnemy(type);
+        if (enemy != null) {
+            enemies.add(enemy);
+            roster.add(enemy);
+        }
+    }
+
+    public GameRandom getRandom() {
+        return random;
+    }
+
+    public void setEventSink(GameEventSink eventSink) {
+        this.eventSink = eventSink;
+    }
+
+    public void emit(GameEvent type, Object subject, int a, int b) {
+        eventSink.emit(type, subject, a, b);
+    }
+
+    // 複製出一個完全獨立的引擎 (自己的 Player / Enemy / 亂數)，卡牌實例則共用 (戰鬥中不會被修改)。
+    // 複製品不帶事件接收端。
+    // 之後可用同一個 CombatState 在兩者之間互相還原。
+    public CombatEngine fork() {
+        Player copy = new Player(player.maxHealth);
+        copy.health = player.health;
+        copy.energy = player.energy;
+        copy.maxEnergy = player.maxEnergy;
+        copy.block = player.block;
+        copy.gold = player.gold;
+        copy.piles.copyFrom(player.piles);
+
+        CombatEngine forked = new CombatEngine(copy, random.copy());
+        for (int i = 0; i < roster.size(); i++) {
+            Enemy source = roster.get(i);
+            Enemy enemy = new Enemy(source.maxHealth, source.name, source.baseDamage);
+            enemy.health = source.health;
+            enemy.block = source.block;
+            forked.roster.add(enemy);
+            if (enemies.contains(source))
+                forked.enemies.add(enemy);
+        }
+        forked.inCombat = inCombat;
+        forked.playerTurn = playerTurn;
+        forked.comboCount = comboCount;
+        forked.turn = turn;
+        return forked;
+    }
+
+    // --- 高階動作 (Headless API) ---
+
+    public Result start() {
+        beginCombat();
+        startTurn();
+        return Result.ONGOING;
+    }
+
+    public Result playCard(int handIndex, int targetIndex) {
+        if (!inCombat || !playerTurn || handIndex < 0 || handIndex >= player.piles.handCount()
+                || targetIndex < 0 || targetIndex >= enemies.size())
+            return Result.INVALID;
+
+        Card card = player.piles.handCard(handIndex);
+        Enemy target = enemies.get(targetIndex);
+        if (target.health <= 0 || !payCost(card))
+            return Result.INVALID;
+
+        player.piles.discardFromHand(handIndex);
+
+        if (!applyCardEffect(card, target)) {
+            finishCombat(false);
+            return Result.DEFEAT;
+        }
+        emit(GameEvent.CARD_PLAYED, card, player.energy, 0);
+        removeDeadEnemies();
+        if (enemies.isEmpty()) {
+            finishCombat(true);
+            return Result.VICTORY;
+        }
+
+        // 與 CombatManager 相同：費用耗盡且無牌可打時自動結束回合
+        if (player.energy == 0 && !canPlayAnyCard())
+            return endTurn();
+        return Result.ONGOING;
+    }
+
+    public Result endTurn() {
+        if (!inCombat || !playerTurn)
+            return Result.INVALID;
+
+        finishPlayerTurn();
+        emit(GameEvent.ENEMY_TURN_START, null, 0, 0);
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            if (enemy.health <= 0)
+                continue;
+            hitPlayer(enemy);
+            if (player.health <= 0) {
+                finishCombat(false);
+                return Result.DEFEAT;
+            }
+        }
+        startTurn();
+        return Result.ONGOING;
+    }
+
+    // --- 規則原語 (CombatManager 以此搭配動畫與日誌) ---
+
+    // 戰鬥開始 (不含第一回合抽牌)；start() 與 CombatManager.startCombat() 共用
+    public void beginCombat() {
+        inCombat = true;
+        turn = 0;
+        emit(GameEvent.COMBAT_START, null, 0, 0);
+    }
+
+    public void startTurn() {
+        beginTurn();
+        drawCards(HAND_SIZE);
+        emit(GameEvent.TURN_START, null, player.energy, turn);
+    }
+
+    public void beginTurn() {
+        playerTurn = true;
+        turn++;
+        player.energy = player.maxEnergy;
+        player.block = 0;
+        comboCount = 0;
+        discardHand();
+    }
+
+    public void finishPlayerTurn() {
+        playerTurn = false;
+        discardHand();
+        emit(GameEvent.TURN_END, null, turn, 0);
+    }
+
+    public void discardHand() {
+        player.piles.discardHand();
+    }
+
+    // 回傳是否發生了牌組重洗
+    public boolean drawCards(int amount) {
+        boolean reshuffled = player.piles.draw(amount, random);
+        if (reshuffled)
+            emit(GameEvent.RESHUFFLE, null, 0, 0);
+        return reshuffled;
+    }
+
+    public boolean canPlayAnyCard() {
+        CardPiles piles = player.piles;
+        for (int i = 0; i < piles.handCount(); i++) {
+            if (player.energy >= piles.handCard(i).energyCost)
+                return true;
+        }
+        return false;
+    }
+
+    public boolean payCost(Card card) {
+        if (player.energy < card.energyCost)
+            return false;
+        player.energy -= card.energyCost;
+        return true;
+    }
+
+    // 回傳 false 代表玩家因卡牌副作用死亡
+    public boolean applyCardEffect(Card card, Enemy target) {
+        if (card.type == CardType.ATTACK)
+            comboCount++;
+        return card.definition.effect.apply(this, card, target);
+    }
+
+    public void selfDamage(Card source, int amount) {
+        player.health -= amount;
+        emit(GameEvent.SELF_DAMAGE, source, amount, 0);
+    }
+
+    public void gainBlock(int amount) {
+        player.block += amount;
+        emit(GameEvent.BLOCK_GAINED, null, amount, player.block);
+    }
+
+    public void heal(int amount) {
+        player.health = Math.min(player.maxHealth, player.health + amount);
+        emit(GameEvent.HEALED, null, amount, player.health);
+    }
+
+    public void gainEnergy(Card source, int amount) {
+        player.energy += amount;
+        emit(GameEvent.ENERGY_GAINED, source, amount, player.energy);
+    }
+
+    // 回傳穿透防禦後的實際傷害
+    public int attack(Enemy target, int damage) {
+        int actualDamage = damage;
+        if (target.block > 0) {
+            if (target.block >= damage) {
+                target.block -= damage;
+                actualDamage = 0;
+            } else {
+                actualDamage = damage - target.block;
+                target.block = 0;
+            }
+        }
+        target.health -= actualDamage;
+        if (actualDamage > 0)
+            emit(GameEvent.DAMAGE_DEALT, target, actualDamage, target.health);
+        else
+            emit(GameEvent.DAMAGE_BLOCKED, target, 0, target.health);
+        return actualDamage;
+    }
+
+    public int hitPlayer(Enemy attacker) {
+        int damage = attacker.baseDamage;
+        int actualDamage = damage;
+        if (player.block > 0) {
+            if (player.block >= damage) {
+                player.block -= damage;
+                actualDamage = 0;
+            } else {
+                actualDamage = damage - player.block;
+                player.block = 0;
+            }
+        }
+        player.health -= actualDamage;
+        if (actualDamage > 0)
+            emit(GameEvent.PLAYER_HIT, attacker, actualDamage, player.health);
+        else
+            emit(GameEvent.PLAYER_HIT_BLOCKED, attacker, 0, player.health);
+        return actualDamage;
+    }
+
+    public void removeDeadEnemies() {
+        for (int i = enemies.size() - 1; i >= 0; i--) {
+            if (enemies.get(i).health <= 0)
+                enemies.remove(i);
+        }
+    }
+
+    public void finishCombat(boolean victory) {
+        inCombat = false;
+        playerTurn = false;
+
+        player.piles.gatherIntoDrawPile();
+        player.piles.shuffleDrawPile(random);
+        emit(victory ? GameEvent.COMBAT_VICTORY : GameEvent.COMBAT_DEFEAT, null, turn, 0);
+    }
+}
@@ -0,0 +1,6 @@
+// 戰鬥決策：回傳要打出的手牌索引，或 END_TURN 結束回合。
+public interface CombatPolicy {
+    int END_TURN = -1;
+
+    int chooseAction(CombatEngine engine);
+}
@@ -0,0 +1,92 @@
+import java.util.List;
+
+// 戰鬥狀態快照：只保存 int / long 欄位與牌堆排列，不複製任何 Card 物件。
+// capture / restore 都是 O(狀態大小) 且重複使用內部陣列，供搜尋型 AI 反覆分支與回溯。
+// 可以還原到擷取來源的引擎，或由該引擎 fork() 出來的引擎。
+public final class CombatState {
+    private int[] order = new int[32];
+    private int drawEnd;
+    private int handEnd;
+    private int cardCount;
+
+    private int health;
+    private int energy;
+    private int block;
+
+    private int[] enemyHealth = new int[4];
+    private int[] enemyBlock = new int[4];
+    private int enemyCount;
+
+    private boolean inCombat;
+    private boolean playerTurn;
+    private int comboCount;
+    private int turn;
+    private long randomState;
+
+    public void capture(CombatEngine engine) {
+        Player player = engine.player;
+        CardPiles piles = player.piles;
+        cardCount = piles.size();
+        if (order.length < cardCount)
+            order = new int[Math.max(cardCount, order.length * 2)];
+        piles.saveOrder(order);
+        drawEnd = piles.drawCount();
+        handEnd = piles.handEnd();
+
+        health = player.health;
+        energy = player.energy;
+        block = player.block;
+
+        List<Enemy> roster = engine.roster;
+        enemyCount = roster.size();
+        if (enemyHealth.length < enemyCount) {
+            enemyHealth = new int[enemyCount];
+            enemyBlock = new int[enemyCount];
+        }
+        for (int i = 0; i < enemyCount; i++) {
+            Enemy enemy = roster.get(i);
+            enemyHealth[i] = enemy.health;
+            enemyBlock[i] = enemy.block;
+        }
+
+        inCombat = engine.inCombat;
+        playerTurn = engine.playerTurn;
+        comboCount = engine.comboCount;
+        turn = engine.turn;
+        randomState = engine.getRandom().getState();
+    }
+
+    public void restore(CombatEngine engine) {
+        Player player = engine.player;
+        player.piles.restoreOrder(order, drawEnd, handEnd, cardCount);
+        player.health = health;
+        player.energy = energy;
+        player.block = block;
+
+        List<Enemy> roster = engine.roster;
+        if (roster.size() != enemyCount)
+            throw new IllegalStateException("Enemy roster changed since snapshot");
+        engine.enemies.clear();
+        for (int i = 0; i < enemyCount; i++) {
+            Enemy enemy = roster.get(i);
+            enemy.health = enemyHealth[i];
+            enemy.block = enemyBlock[i];
+            if (enemy.health > 0)
+                engine.enemies.add(enemy);
+        }
+
+        engine.inCombat = inCombat;
+        engine.playerTurn = playerTurn;
+        engine.comboCount = comboCount;
+        engine.turn = turn;
+        engine.getRandom().setState(randomState);
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public int getHealth() {
+        return health;
+    }
+}
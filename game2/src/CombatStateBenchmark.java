@@ -0,0 +1,47 @@
+// 快照微基準：量測 capture + restore (一次分支) 每秒次數，
+// 以及「分支 → 打一張牌 → 回溯」這種搜尋常見模式的吞吐量。
+//
+// 用法: java CombatStateBenchmark [迭代次數]
+public class CombatStateBenchmark {
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+
+        Player player = new Player(GameConstants.PLAYER_MAX_HEALTH);
+        player.piles.setCards(Card.createStarterDeck());
+        CombatEngine engine = new CombatEngine(player, new GameRandom(42));
+        engine.spawnEnemies(NodeType.BOSS);
+        engine.start();
+
+        CombatState root = new CombatState();
+        CombatState scratch = new CombatState();
+        root.capture(engine);
+
+        long checksum = 0;
+        for (int round = 0; round < 3; round++) { // 前兩輪為 JIT 暖身
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                scratch.capture(engine);
+                root.restore(engine);
+                checksum += player.piles.handCount();
+            }
+            double forkSeconds = (System.nanoTime() - start) / 1e9;
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                engine.playCard(i % Math.max(1, player.piles.handCount()), 0);
+                checksum += player.energy;
+                root.restore(engine);
+            }
+            double playSeconds = (System.nanoTime() - start) / 1e9;
+
+            if (round == 2) {
+                System.out.println(String.format("分支 (capture + restore): %,.0f 次/秒", iterations / forkSeconds));
+                System.out.println(String.format("打牌 + 回溯:              %,.0f 次/秒", iterations / playSeconds));
+            }
+        }
+
+        CombatEngine forked = engine.fork();
+        root.restore(forked);
+        System.out.println("fork 後手牌數: " + forked.player.piles.handCount() + " (checksum " + checksum + ")");
+    }
+}
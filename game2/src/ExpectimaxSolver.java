@@ -0,0 +1,304 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 小牌組的精確勝率求解器 (memoized expectimax)。
+//
+// 狀態只在回合開始 (手牌為空) 時做記憶：抽牌堆以「每種卡牌的張數」表示 (棄牌堆 = 總數 - 抽牌堆)，
+// 加上雙方生命與回合數，不同洗牌順序的等價狀態因此會合併。
+// 抽牌是機率節點：依多元超幾何分佈列舉手牌組合，抽牌堆不足時先抽完再把棄牌堆洗回來補抽。
+// 回合內的出牌順序以不記憶的深度優先搜尋取最大值 (手牌只有五張，分支很小)。
+// 規則與 CombatEngine 一致。由於純防禦的回合可能讓狀態循環，超過 turnLimit 回合視為失敗，
+// 結果即「在 turnLimit 回合內獲勝」的精確機率。
+//
+// 用法: java ExpectimaxSolver [回合上限]
+public class ExpectimaxSolver {
+    public static final int DEFAULT_TURN_LIMIT = 40;
+
+    private final CardDefinition[] kinds;
+    private final int[] totals;
+    private final int[] hand;
+    private final int[] draw;
+    private final int deckSize;
+    private final int maxHealth;
+    private final int maxEnergy;
+    private final int enemyMaxHealth;
+    private final int enemyDamage;
+    private final int turnLimit;
+    private final double[][] binomial;
+
+    // 狀態鍵的位元配置 (依牌組計算，總長不得超過 63 位元)
+    private final int[] countShift;
+    private final int hpShift, enemyHpShift, turnShift;
+
+    private final LongDoubleMap memo = new LongDoubleMap(1 << 16);
+    private long lookups;
+    private long hits;
+
+    public ExpectimaxSolver(List<Card> deck, int maxHealth, int maxEnergy, Enemy enemy, int turnLimit) {
+        List<CardDefinition> distinct = new ArrayList<>();
+        for (Card card : deck) {
+            if (!distinct.contains(card.definition))
+                distinct.add(card.definition);
+        }
+        this.kinds = distinct.toArray(new CardDefinition[0]);
+        this.totals = new int[kinds.length];
+        for (Card card : deck)
+            totals[distinct.indexOf(card.definition)]++;
+        this.hand = new int[kinds.length];
+        this.draw = new int[kinds.length];
+        this.deckSize = deck.size();
+        this.maxHealth = maxHealth;
+        this.maxEnergy = maxEnergy;
+        this.enemyMaxHealth = enemy.maxHealth;
+        this.enemyDamage = enemy.baseDamage;
+        this.turnLimit = turnLimit;
+
+        binomial = new double[deckSize + 1][deckSize + 1];
+        for (int n = 0; n <= deckSize; n++) {
+            binomial[n][0] = 1;
+            for (int k = 1; k <= n; k++)
+                binomial[n][k] = binomial[n - 1][k - 1] + (k <= n - 1 ? binomial[n - 1][k] : 0);
+        }
+
+        int shift = 0;
+        countShift = new int[kinds.length];
+        for (int i = 0; i < kinds.length; i++) {
+            countShift[i] = shift;
+            shift += bitsFor(totals[i]);
+        }
+        hpShift = shift;
+        shift += bitsFor(maxHealth);
+        enemyHpShift = shift;
+        shift += bitsFor(enemyMaxHealth);
+        turnShift = shift;
+        shift += bitsFor(turnLimit);
+        if (shift > 63)
+            throw new IllegalArgumentException("Deck too large for the exact solver (" + shift + " key bits)");
+    }
+
+    private static int bitsFor(int maxValue) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(maxValue));
+    }
+
+    public double solve() {
+        Arrays.fill(hand, 0);
+        System.arraycopy(totals, 0, draw, 0, totals.length);
+        return startTurn(maxHealth, enemyMaxHealth, 1);
+    }
+
+    public long statesExplored() {
+        return memo.size();
+    }
+
+    public double hitRate() {
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    public long memoryBytes() {
+        return memo.memoryBytes();
+    }
+
+    private long key(int hp, int enemyHp, int turn) {
+        long k = 1L << 63; // 保證不為 0 (0 在表中代表空槽)
+        for (int i = 0; i < kinds.length; i++)
+            k |= (long) draw[i] << countShift[i];
+        k |= (long) hp << hpShift;
+        k |= (long) enemyHp << enemyHpShift;
+        k |= (long) turn << turnShift;
+        return k;
+    }
+
+    // --- 機率節點：回合開始抽牌 ---
+
+    private double startTurn(int hp, int enemyHp, int turn) {
+        long k = key(hp, enemyHp, turn);
+        lookups++;
+        double cached = memo.get(k);
+        if (!Double.isNaN(cached)) {
+            hits++;
+            return cached;
+        }
+
+        int drawTotal = 0;
+        for (int i = 0; i < kinds.length; i++)
+            drawTotal += draw[i];
+
+        int[] savedDraw = draw.clone();
+        double value;
+        if (drawTotal >= CombatEngine.HAND_SIZE) {
+            value = drawHands(0, CombatEngine.HAND_SIZE, 1.0 / binomial[drawTotal][CombatEngine.HAND_SIZE], hp,
+                    enemyHp, turn);
+        } else {
+            // 抽牌堆不足：先全部抽上手，剩餘的從洗回的棄牌堆 (不在手上的牌) 抽
+            int fromDiscard = CombatEngine.HAND_SIZE - drawTotal;
+            int discardTotal = 0;
+            for (int i = 0; i < kinds.length; i++) {
+                hand[i] = draw[i];
+                draw[i] = totals[i] - hand[i];
+                discardTotal += draw[i];
+            }
+            fromDiscard = Math.min(fromDiscard, discardTotal);
+            value = drawHands(0, fromDiscard, 1.0 / binomial[discardTotal][fromDiscard], hp, enemyHp, turn);
+            Arrays.fill(hand, 0);
+        }
+        System.arraycopy(savedDraw, 0, draw, 0, draw.length);
+
+        memo.put(k, value);
+        return value;
+    }
+
+    // 依序決定每種卡牌抽幾張；機率 = Π C(抽牌堆張數, 抽出張數) / C(總張數, 手牌數)
+    private double drawHands(int kind, int remaining, double weight, int hp, int enemyHp, int turn) {
+        if (kind == kinds.length) {
+            return remaining == 0 ? weight * playTurn(hp, enemyHp, maxEnergy, 0, turn) : 0;
+        }
+        double value = 0;
+        int available = draw[kind];
+        for (int c = Math.min(available, remaining); c >= 0; c--) {
+            hand[kind] += c;
+            draw[kind] -= c;
+            value += drawHands(kind + 1, remaining - c, weight * binomial[available][c], hp, enemyHp, turn);
+            draw[kind] += c;
+            hand[kind] -= c;
+        }
+        return value;
+    }
+
+    // --- 決策節點：打出一種牌或結束回合 ---
+
+    private double playTurn(int hp, int enemyHp, int energy, int block, int turn) {
+        double best = endTurn(hp, enemyHp, block, turn);
+        for (int i = 0; i < kinds.length && best < 1.0; i++) {
+            CardDefinition card = kinds[i];
+            if (hand[i] == 0 || card.cost > energy)
+                continue;
+
+            hand[i]--;
+            double value = playCard(card, hp, enemyHp, energy - card.cost, block, turn);
+            hand[i]++;
+            if (value > best)
+                best = value;
+        }
+        return best;
+    }
+
+    private double playCard(CardDefinition card, int hp, int enemyHp, int energy, int block, int turn) {
+        switch (card.opcode) {
+            case CardDefinition.OP_DAMAGE:
+                hp -= card.selfDamage;
+                if (hp <= 0)
+                    return 0;
+                enemyHp -= card.value;
+                if (enemyHp <= 0)
+                    return 1;
+                break;
+            case CardDefinition.OP_BLOCK:
+                block += card.value;
+                break;
+            case CardDefinition.OP_HEAL:
+                hp = Math.min(maxHealth, hp + card.value);
+                break;
+            case CardDefinition.OP_ENERGY:
+                energy += card.value;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported opcode for solver: " + card.opcode);
+        }
+        return playTurn(hp, enemyHp, energy, block, turn);
+    }
+
+    private double endTurn(int hp, int enemyHp, int block, int turn) {
+        hp -= Math.max(0, enemyDamage - block);
+        if (hp <= 0 || turn >= turnLimit)
+            return 0;
+
+        int[] savedHand = hand.clone();
+        Arrays.fill(hand, 0); // 手牌進入棄牌堆
+        double value = startTurn(hp, enemyHp, turn + 1);
+        System.arraycopy(savedHand, 0, hand, 0, hand.length);
+        return value;
+    }
+
+    // 開放定址的 long -> double 表 (NaN 代表不存在)
+    private static final class LongDoubleMap {
+        private long[] keys;
+        private double[] values;
+        private int size;
+
+        LongDoubleMap(int capacity) {
+            keys = new long[capacity];
+            values = new double[capacity];
+        }
+
+        double get(long key) {
+            int mask = keys.length - 1;
+            for (int i = (int) GameRandom.mix64(key) & mask;; i = (i + 1) & mask) {
+                long k = keys[i];
+                if (k == key)
+                    return values[i];
+                if (k == 0)
+                    return Double.NaN;
+            }
+        }
+
+        void put(long key, double value) {
+            if ((size + 1) * 2 > keys.length)
+                grow();
+            int mask = keys.length - 1;
+            for (int i = (int) GameRandom.mix64(key) & mask;; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return;
+                }
+                if (keys[i] == 0) {
+                    keys[i] = key;
+                    values[i] = value;
+                    size++;
+                    return;
+                }
+            }
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            double[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new double[oldValues.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0)
+                    put(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        long size() {
+            return size;
+        }
+
+        long memoryBytes() {
+            return (long) keys.length * (Long.BYTES + Double.BYTES);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int turnLimit = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TURN_LIMIT;
+
+        // 每回合約十層遞迴，使用較大的堆疊
+        Thread worker = new Thread(null, () -> {
+            for (NodeType type : BalanceSimulator.ENCOUNTERS) {
+                long start = System.nanoTime();
+                ExpectimaxSolver solver = new ExpectimaxSolver(Card.createStarterDeck(),
+                        GameConstants.PLAYER_MAX_HEALTH, GameConstants.PLAYER_MAX_ENERGY, CombatEngine.createEnemy(type),
+                        turnLimit);
+                double p = solver.solve();
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.println(String.format(
+                        "%-5s 勝率 %.6f | 狀態 %,d | 快取命中 %.1f%% | 記憶體 %.1f MB | %.2f 秒", type, p,
+                        solver.statesExplored(), solver.hitRate() * 100, solver.memoryBytes() / 1048576.0, seconds));
+            }
+        }, "expectimax", 256L * 1024 * 1024);
+        worker.start();
+        worker.join();
+    }
+}
@@ -10,6 +10,19 @@ public class GameConstants {
     // Map
     public static final int MAP_FLOORS = 8;
     public static final int MAP_NODE_SIZE = 40;
+    public static final int MAP_COLUMNS = 5;
+    // Map generation weights (relative; START and BOSS are fixed at the ends)
+    public static final int MAP_WEIGHT_ENEMY = 45;
+    public static final int MAP_WEIGHT_ELITE = 12;
+    public static final int MAP_WEIGHT_SHOP = 10;
+    public static final int MAP_WEIGHT_TREASURE = 13;
+    public static final int MAP_WEIGHT_REST = 20;
+    // Route analysis (rough value of visiting each node type, for the route summary)
+    public static final double ROUTE_VALUE_ENEMY = 1.0;
+    public static final double ROUTE_VALUE_ELITE = 2.0;
+    public static final double ROUTE_VALUE_SHOP = 1.5;
+    public static final double ROUTE_VALUE_TREASURE = 2.0;
+    public static final double ROUTE_VALUE_REST = 1.5;
 
     // Window
     public static final int WINDOW_WIDTH = 1200;
@@ -52,6 +65,18 @@ public class GameConstants {
     public static final int SHOP_REMOVE_CARD_PRICE = 75;
     public static final int SHOP_DECK_MIN_SIZE_FOR_REMOVAL = 12;
 
+    // Auto-play (MCTS)
+    public static final int AUTO_PLAY_THINK_MILLIS = 300;
+    public static final int AUTO_PLAY_STEP_MILLIS = 150;
+
+    // Event log ring buffer (drained whenever the UI status refreshes)
+    public static final int EVENT_BUFFER_CAPACITY = 1024;
+
+    // Particles (projectiles, hit sparks, damage numbers share one preallocated pool)
+    public static final int PARTICLE_CAPACITY = 32768;
+    public static final int HIT_SPARK_COUNT = 24;
+    public static final int VOLLEY_INTERVAL_STEPS = 6;
+
     // Rest
     public static final int REST_HEAL_AMOUNT = 15;
 
@@ -72,6 +97,12 @@ public class GameConstants {
     public static final String RES_ATTACK0_IMAGE = "img/attack0.png";
     public static final String RES_ATTACK1_IMAGE = "img/attack1.png";
 
+    // Sprite atlas (generated by AtlasPacker: one page per image directory, decoded in parallel)
+    public static final String ATLAS_PAGE_NAME = "atlas.png";
+    public static final String RES_ATLAS_INDEX = "img/atlas.idx";
+    public static final int ASSET_LOADER_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    public static final double ATLAS_DETAIL_SCALE = 2.0; // packed sprites keep 2x their display size
+
     // Attack Threshold
     public static final int ATTACK_EFFECT_THRESHOLD = 15;
 
@@ -92,6 +123,9 @@ public class GameConstants {
     public static final int ATTACK1_IMAGE_HEIGHT = 215;
 
     // Card Images
+    public static final int CARD_IMAGE_WIDTH = 120;
+    public static final int CARD_IMAGE_HEIGHT = 150;
+    public static final int CARD_FACE_CACHE_CAPACITY = 64; // composed faces (kind, cost, upgraded, playable)
     public static final String RES_CARD_ATTACK_6 = "img/card/attack6.png";
     public static final String RES_CARD_DEFENSE_5 = "img/card/defense5.png";
     public static final String RES_CARD_ATTACK_15 = "img/card/attack15.png";
@@ -0,0 +1,65 @@
+// 遊戲事件種類與其顯示文字範本。
+// 事件本身只記錄種類、一個主體 (Card / Enemy / 字串) 與兩個整數參數；
+// 文字只在真正要顯示時才由 render() 組出 (%1$s = 主體名稱, %2$d / %3$d = 整數參數)。
+public enum GameEvent {
+    // 戰鬥
+    COMBAT_START("--- 戰鬥開始 ---"),
+    TURN_START("--- 你的回合 (費用: %2$d) ---"),
+    RESHUFFLE("牌組重洗。"),
+    CARD_PLAYED("打出 [%1$s]，剩餘費用: %2$d"),
+    NOT_ENOUGH_ENERGY("費用不足！"),
+    AUTO_END_TURN("費用耗盡，自動結束回合。"),
+    SELF_DAMAGE("因 [%1$s] 副作用，失去 %2$d 點生命。"),
+    DAMAGE_DEALT("對 %1$s 造成 %2$d 點傷害。"),
+    DAMAGE_BLOCKED("攻擊被 %1$s 的防禦抵擋。"),
+    BLOCK_GAINED("獲得 %2$d 點防禦。"),
+    HEALED("恢復 %2$d 點生命。"),
+    ENERGY_GAINED("打出 [%1$s]，獲得 %2$d 點額外費用。"),
+    WAITING_FOR_ANIMATION("請稍候，等待攻擊動畫結束..."),
+    TURN_END("--- 你的回合結束 ---"),
+    ENEMY_TURN_START("--- 敵人回合開始 ---"),
+    PLAYER_HIT("%1$s 攻擊了玩家，造成 %2$d 點傷害！"),
+    PLAYER_HIT_BLOCKED("%1$s 的攻擊被防禦抵擋。"),
+    COMBAT_VICTORY("🎉 戰鬥勝利！請在地圖上選擇下一個節點。"),
+    COMBAT_DEFEAT("💀 你被擊敗了... 遊戲結束。"),
+
+    // 商店
+    SHOP_ENTER("歡迎來到商店！"),
+    CARD_BOUGHT("成功購買 [%1$s]，加入牌組。金幣 -%2$d"),
+    NOT_ENOUGH_GOLD_TO_BUY("金幣不足，無法購買卡牌！"),
+    CARD_REMOVED("成功移除一張 [%1$s]。金幣 -%2$d"),
+    CARD_NOT_FOUND("牌組中沒有找到該卡牌。"),
+    DECK_TOO_SMALL("牌組卡牌太少，無法移除。"),
+    NOT_ENOUGH_GOLD_TO_REMOVE("金幣不足，無法移除卡牌！"),
+    SHOP_LEAVE("離開商店。"),
+
+    // 休息點
+    REST_ENTER("來到休息點，可以選擇休息或鍛造。"),
+    RESTED("休息。恢復 %2$d 點生命。"),
+    CARD_UPGRADED("成功鍛造！一張 [打擊] 升級為 [%1$s] (傷害 %2$d)。"),
+    NO_UPGRADE_TARGET("牌組中沒有 [打擊] 卡牌可以升級。"),
+    REST_LEAVE("離開休息點。"),
+
+    // 寶箱
+    TREASURE_FOUND("發現一個寶箱！獲得金幣並抽一張稀有卡。"),
+    GOLD_GAINED("獲得 %2$d 金幣。"),
+    RARE_CARD_GAINED("獲得稀有卡: [%1$s]，已加入牌組。");
+
+    public final String template;
+
+    GameEvent(String template) {
+        this.template = template;
+    }
+
+    public String render(Object subject, int a, int b) {
+        return String.format(template, subjectName(subject), a, b);
+    }
+
+    private static String subjectName(Object subject) {
+        if (subject instanceof Card)
+            return ((Card) subject).name;
+        if (subject instanceof Enemy)
+            return ((Enemy) subject).name;
+        return String.valueOf(subject);
+    }
+}
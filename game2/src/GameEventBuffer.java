@@ -0,0 +1,58 @@
+// 預先配置的事件環形緩衝區：emit() 只寫入陣列，不配置記憶體。
+// 由 UI 在適當時機 drain() 取出並轉成文字；緩衝區滿時覆蓋最舊的事件。
+// 只供單一執行緒 (EDT) 使用。
+public final class GameEventBuffer implements GameEventSink {
+    private final GameEvent[] types;
+    private final Object[] subjects;
+    private final int[] args;
+    private final int mask;
+    private long head; // 下一個寫入位置
+    private long tail; // 下一個讀取位置
+    private long dropped;
+
+    // capacity 會進位到 2 的次方
+    public GameEventBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        types = new GameEvent[size];
+        subjects = new Object[size];
+        args = new int[size * 2];
+        mask = size - 1;
+    }
+
+    @Override
+    public void emit(GameEvent type, Object subject, int a, int b) {
+        if (head - tail == types.length) {
+            tail++;
+            dropped++;
+        }
+        int slot = (int) head & mask;
+        types[slot] = type;
+        subjects[slot] = subject;
+        args[slot * 2] = a;
+        args[slot * 2 + 1] = b;
+        head++;
+    }
+
+    // 依序把尚未讀取的事件交給 consumer，並清空緩衝區
+    public int drain(GameEventSink consumer) {
+        int count = 0;
+        while (tail < head) {
+            int slot = (int) tail & mask;
+            GameEvent type = types[slot];
+            Object subject = subjects[slot];
+            subjects[slot] = null; // 不要延長卡牌 / 敵人的生命週期
+            tail++;
+            consumer.emit(type, subject, args[slot * 2], args[slot * 2 + 1]);
+            count++;
+        }
+        return count;
+    }
+
+    public int size() {
+        return (int) (head - tail);
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+}
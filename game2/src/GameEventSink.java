@@ -0,0 +1,7 @@
+// 遊戲事件的接收端。模擬與搜尋使用 NONE，不產生任何字串或物件。
+public interface GameEventSink {
+    GameEventSink NONE = (type, subject, a, b) -> {
+    };
+
+    void emit(GameEvent type, Object subject, int a, int b);
+}
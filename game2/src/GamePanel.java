@@ -3,25 +3,74 @@ import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.BasicStroke;
-import java.awt.Image;
-import java.awt.FontMetrics;
-import java.io.IOException;
-import javax.imageio.ImageIO;
-import java.util.List;
+import java.awt.Font;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.Stroke;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
 
 public class GamePanel extends JPanel {
+    private static final Color MAP_EDGE_COLOR = new Color(50, 50, 50);
+    private static final Color MAP_EDGE_VISITED_COLOR = new Color(100, 100, 100);
+    private static final Stroke MAP_EDGE_STROKE = new BasicStroke(2);
+    private static final Font MAP_LABEL_FONT = GameConstants.UI_FONT.deriveFont(10f);
+    private static final Font INTENT_FONT = GameConstants.UI_FONT.deriveFont(Font.BOLD, 18f);
+    private static final Font COMBO_FONT = GameConstants.UI_FONT.deriveFont(Font.BOLD | Font.ITALIC, 48f);
+    private static final Font BANNER_FONT = GameConstants.UI_FONT.deriveFont(Font.BOLD, 80f);
+
+    // -Dgame.profileBlits=true：每 BLIT_REPORT_FRAMES 幀印出戰鬥畫面精靈繪製的平均時間
+    private static final boolean PROFILE_BLITS = Boolean.getBoolean("game.profileBlits");
+    private static final int BLIT_REPORT_FRAMES = 300;
+
+    // -Dgame.frameStats=true：Swing 繪製路徑的繪製時間與輸入延遲，用來和 ActiveRenderer 比較
+    private static final boolean REPORT_FRAME_STATS = Boolean.getBoolean("game.frameStats");
+
+    // 敵人衝刺動畫的重畫範圍 (圖片半寬 + 名稱 / 血量 / 意圖文字)
+    private static final int ENEMY_DIRTY_HALF_WIDTH = Math.max(GameConstants.BOSS_IMAGE_WIDTH,
+            GameConstants.ENEMY_IMAGE_WIDTH) / 2 + 60;
+
     private final Player player;
     private final MapManager mapManager;
     private final CombatManager combatManager;
-    private Image playerImage;
-    private Image enemyImage;
-    private Image bossImage;
-    private Image attack0Image;
-    private Image attack1Image;
-    private final java.util.List<Projectile> projectiles = new java.util.ArrayList<>();
+    private final GameRandom visualRandom;
+    private final SpriteCache spriteCache = new SpriteCache();
+    private SpriteCache.Sprite playerSprite;
+    private SpriteCache.Sprite enemySprite;
+    private SpriteCache.Sprite bossSprite;
+    private SpriteCache.Sprite attack0Sprite;
+    private SpriteCache.Sprite attack1Sprite;
+    private long blitNanos = 0;
+    private int blitFrames = 0;
+    private final ParticleSystem particles;
+    private int attack0SpriteId;
+    private int attack1SpriteId;
     private int shakeDuration = 0;
     private int shakeIntensity = 0;
 
+    // 動畫開始時通知排程器；updateLogic 累積本次 tick 需要重畫的區域
+    private Runnable animationListener;
+    private final Rectangle dirtyRegion = new Rectangle();
+    private float interpolation = 1f; // 上一個與目前邏輯狀態之間的內插比例
+    private GraphicsConfiguration renderConfig;
+    private final RepaintScheduler.FrameStats paintStats = new RepaintScheduler.FrameStats();
+    private long pendingInputNanos = 0;
+    private Runnable firstFrameListener;
+
+    // HUD 文字：數字不變時沿用排版好的字形，不再每幀組字串
+    private final TextCache.Label playerLabel = TextCache.label(GameConstants.UI_FONT, "玩家");
+    private final TextCache.Label blockLabel = TextCache.label(GameConstants.UI_FONT, "%d");
+    private final TextCache.Label enemyNameLabel = TextCache.label(GameConstants.UI_FONT, null); // 以 drawText 繪製
+    private final TextCache.Label enemyHpLabel = TextCache.label(GameConstants.UI_FONT, "HP: %d/%d");
+    private final TextCache.Label intentLabel = TextCache.label(INTENT_FONT, "攻擊 (%d)");
+    private final TextCache.Label comboLabel = TextCache.label(COMBO_FONT, "%d HITS!");
+    private final TextCache.Label gameOverLabel = TextCache.label(BANNER_FONT, "GAME OVER");
+    private final TextCache.Label victoryLabel = TextCache.label(BANNER_FONT, "VICTORY");
+
+    // 地圖靜態圖層 (背景、連線、節點)；只在 MapManager 版本或面板大小改變時重畫
+    private BufferedImage mapLayer;
+    private int mapLayerVersion = -1;
+
     public enum GameState {
         PLAYING, VICTORY, GAME_OVER
     }
@@ -30,6 +79,7 @@ public class GamePanel extends JPanel {
 
     // Enemy Animation State
     private float enemyOffsetX = 0;
+    private float previousEnemyOffsetX = 0;
 
     private enum EnemyAnimState {
         IDLE, FORWARD, BACK
@@ -39,64 +89,86 @@ public class GamePanel extends JPanel {
     private Runnable enemyOnHit;
     private Runnable enemyOnFinish;
 
-    public GamePanel(Player player, MapManager mapManager, CombatManager combatManager) {
+    public GamePanel(Player player, MapManager mapManager, CombatManager combatManager, GameRandom visualRandom) {
         this.player = player;
         this.mapManager = mapManager;
         this.combatManager = combatManager;
-
-        try {
-            // 使用 ClassLoader 載入資源 (適用於 bin 目錄在 classpath 的情況)
-            java.net.URL playerUrl = getClass().getClassLoader().getResource(GameConstants.RES_PLAYER_IMAGE);
-            java.net.URL enemyUrl = getClass().getClassLoader().getResource(GameConstants.RES_ENEMY_IMAGE);
-            java.net.URL bossUrl = getClass().getClassLoader().getResource(GameConstants.RES_BOSS_IMAGE);
-            java.net.URL attack0Url = getClass().getClassLoader().getResource(GameConstants.RES_ATTACK0_IMAGE);
-            java.net.URL attack1Url = getClass().getClassLoader().getResource(GameConstants.RES_ATTACK1_IMAGE);
-
-            if (playerUrl != null)
-                playerImage = ImageIO.read(playerUrl);
-            else
-                System.err.println("Could not find player image at: " + GameConstants.RES_PLAYER_IMAGE);
-
-            if (enemyUrl != null)
-                enemyImage = ImageIO.read(enemyUrl);
-            else
-                System.err.println("Could not find enemy image at: " + GameConstants.RES_ENEMY_IMAGE);
-
-            if (bossUrl != null)
-                bossImage = ImageIO.read(bossUrl);
-            else
-                System.err.println("Could not find boss image at: " + GameConstants.RES_BOSS_IMAGE);
-
-            if (attack0Url != null)
-                attack0Image = ImageIO.read(attack0Url);
-            else
-                System.err.println("Could not find attack0 image at: " + GameConstants.RES_ATTACK0_IMAGE);
-
-            if (attack1Url != null)
-                attack1Image = ImageIO.read(attack1Url);
-            else
-                System.err.println("Could not find attack1 image at: " + GameConstants.RES_ATTACK1_IMAGE);
-
-        } catch (IOException e) {
-            e.printStackTrace();
-            System.err.println("Error loading images: " + e.getMessage());
+        this.visualRandom = visualRandom;
+        this.particles = new ParticleSystem(GameConstants.PARTICLE_CAPACITY, visualRandom);
+        this.particles.setImpactListener(this::onProjectileImpact);
+
+        // 精靈圖在背景載入；到達前 drawCombat 使用替代圖形
+        playerSprite = loadSprite(GameConstants.RES_PLAYER_IMAGE, GameConstants.PLAYER_IMAGE_WIDTH,
+                GameConstants.PLAYER_IMAGE_HEIGHT);
+        enemySprite = loadSprite(GameConstants.RES_ENEMY_IMAGE, GameConstants.ENEMY_IMAGE_WIDTH,
+                GameConstants.ENEMY_IMAGE_HEIGHT);
+        bossSprite = loadSprite(GameConstants.RES_BOSS_IMAGE, GameConstants.BOSS_IMAGE_WIDTH,
+                GameConstants.BOSS_IMAGE_HEIGHT);
+        attack0Sprite = loadSprite(GameConstants.RES_ATTACK0_IMAGE, GameConstants.ATTACK0_IMAGE_WIDTH,
+                GameConstants.ATTACK0_IMAGE_HEIGHT);
+        attack1Sprite = loadSprite(GameConstants.RES_ATTACK1_IMAGE, GameConstants.ATTACK1_IMAGE_WIDTH,
+                GameConstants.ATTACK1_IMAGE_HEIGHT);
+        attack0SpriteId = particles.registerSprite(attack0Sprite);
+        attack1SpriteId = particles.registerSprite(attack1Sprite);
+
+        if (REPORT_FRAME_STATS) {
+            addMouseListener(new java.awt.event.MouseAdapter() {
+                @Override
+                public void mousePressed(java.awt.event.MouseEvent e) {
+                    pendingInputNanos = System.nanoTime();
+                }
+            });
         }
     }
 
     @Override
     protected void paintComponent(Graphics g) {
+        long start = REPORT_FRAME_STATS ? System.nanoTime() : 0;
         super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
+        paintScene((Graphics2D) g, getGraphicsConfiguration());
+
+        if (REPORT_FRAME_STATS) {
+            long end = System.nanoTime();
+            paintStats.record(end - start, 0);
+            if (pendingInputNanos != 0) {
+                paintStats.recordLatency(end - pendingInputNanos);
+                pendingInputNanos = 0;
+            }
+            if (paintStats.frameCount() >= BLIT_REPORT_FRAMES) {
+                System.out.println("[Swing 繪製] " + paintStats);
+                paintStats.reset();
+            }
+        }
+    }
+
+    private SpriteCache.Sprite loadSprite(String path, int width, int height) {
+        SpriteCache.Sprite sprite = spriteCache.register(null, width, height);
+        SpriteAtlas.getShared().request(path, image -> {
+            sprite.setSource(image);
+            repaint();
+        });
+        return sprite;
+    }
+
+    // 第一次繪製完成時呼叫一次 (啟動計時用)
+    public void setFirstFrameListener(Runnable firstFrameListener) {
+        this.firstFrameListener = firstFrameListener;
+    }
+
+    // 繪製整個場景；Swing 路徑由 paintComponent 呼叫，主動繪製模式 (ActiveRenderer) 則直接畫進 BufferStrategy
+    public void paintScene(Graphics2D g2d, GraphicsConfiguration gc) {
+        renderConfig = gc;
+        spriteCache.validate(gc);
 
         if (shakeDuration > 0) {
-            int dx = (int) (Math.random() * shakeIntensity * 2 - shakeIntensity);
-            int dy = (int) (Math.random() * shakeIntensity * 2 - shakeIntensity);
+            int dx = (int) (visualRandom.nextDouble() * shakeIntensity * 2 - shakeIntensity);
+            int dy = (int) (visualRandom.nextDouble() * shakeIntensity * 2 - shakeIntensity);
             g2d.translate(dx, dy);
         }
 
-        if (combatManager.inCombat)
+        if (combatManager.isInCombat())
             drawCombat(g2d);
-        else if (combatManager.inCombat)
+        else if (combatManager.isInCombat())
             drawCombat(g2d);
         else
             drawMap(g2d);
@@ -106,6 +178,12 @@ public class GamePanel extends JPanel {
         } else if (gameState == GameState.VICTORY) {
             drawVictory(g2d);
         }
+
+        if (firstFrameListener != null) {
+            Runnable listener = firstFrameListener;
+            firstFrameListener = null;
+            listener.run();
+        }
     }
 
     public void showGameOver() {
@@ -122,54 +200,115 @@ public class GamePanel extends JPanel {
         g2d.setColor(new Color(0, 0, 0, 200));
         g2d.fillRect(0, 0, getWidth(), getHeight());
 
-        String text = "GAME OVER";
-        g2d.setFont(GameConstants.UI_FONT.deriveFont(java.awt.Font.BOLD, 80f));
-        FontMetrics fm = g2d.getFontMetrics();
-        int textW = fm.stringWidth(text);
-        int textH = fm.getAscent();
-
-        int x = (getWidth() - textW) / 2;
-        int y = (getHeight() + textH) / 2;
-
         g2d.setColor(Color.RED);
-        g2d.drawString(text, x, y);
+        drawCentered(g2d, gameOverLabel);
     }
 
     private void drawVictory(Graphics2D g2d) {
         g2d.setColor(new Color(0, 0, 0, 200));
         g2d.fillRect(0, 0, getWidth(), getHeight());
 
-        String text = "VICTORY";
-        g2d.setFont(GameConstants.UI_FONT.deriveFont(java.awt.Font.BOLD, 80f));
-        FontMetrics fm = g2d.getFontMetrics();
-        int textW = fm.stringWidth(text);
-        int textH = fm.getAscent();
-
-        int x = (getWidth() - textW) / 2;
-        int y = (getHeight() + textH) / 2;
-
         g2d.setColor(Color.YELLOW);
-        g2d.drawString(text, x, y);
+        drawCentered(g2d, victoryLabel);
+    }
+
+    private void drawCentered(Graphics2D g2d, TextCache.Label label) {
+        label.measure(g2d);
+        int x = (getWidth() - (int) label.getAdvance()) / 2;
+        int y = (getHeight() + (int) label.getAscent()) / 2;
+        label.draw(g2d, x, y);
     }
 
     public void startShake(int duration, int intensity) {
         this.shakeDuration = duration;
         this.shakeIntensity = intensity;
+        notifyAnimation();
+    }
+
+    public void setAnimationListener(Runnable animationListener) {
+        this.animationListener = animationListener;
+    }
+
+    public boolean isAnimating() {
+        return !particles.isEmpty() || shakeDuration > 0 || enemyAnimState != EnemyAnimState.IDLE;
+    }
+
+    private void notifyAnimation() {
+        if (animationListener != null)
+            animationListener.run();
+    }
+
+    // 以 alpha 在前後邏輯狀態間內插，重畫動畫經過的區域
+    public void render(double alpha) {
+        setInterpolation(alpha);
+        // 即使這次沒有邏輯步，內插位置也改變了
+        markParticlesDirty();
+        if (enemyAnimState != EnemyAnimState.IDLE)
+            markEnemyDirty();
+        repaintDirty();
+    }
+
+    public void setInterpolation(double alpha) {
+        interpolation = (float) alpha;
+    }
+
+    // 只重畫上次呼叫後動畫經過的區域
+    public void repaintDirty() {
+        if (dirtyRegion.isEmpty())
+            return;
+        repaint(dirtyRegion.x, dirtyRegion.y, dirtyRegion.width, dirtyRegion.height);
+        dirtyRegion.setBounds(0, 0, 0, 0);
+    }
+
+    private void markDirty(int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0)
+            return;
+        if (dirtyRegion.isEmpty()) {
+            dirtyRegion.setBounds(x, y, width, height);
+            return;
+        }
+        int minX = Math.min(dirtyRegion.x, x);
+        int minY = Math.min(dirtyRegion.y, y);
+        int maxX = Math.max(dirtyRegion.x + dirtyRegion.width, x + width);
+        int maxY = Math.max(dirtyRegion.y + dirtyRegion.height, y + height);
+        dirtyRegion.setBounds(minX, minY, maxX - minX, maxY - minY);
+    }
+
+    // 標記上一步到目前位置之間 (內插繪製的範圍)；粒子系統已維護整體包圍框
+    private void markParticlesDirty() {
+        Rectangle bounds = particles.getBounds();
+        markDirty(bounds.x, bounds.y, bounds.width, bounds.height);
+    }
+
+    private void markEnemyDirty() {
+        int baseX = getWidth() * 3 / 4;
+        int minX = baseX + (int) Math.min(enemyOffsetX, previousEnemyOffsetX);
+        int maxX = baseX + (int) Math.max(enemyOffsetX, previousEnemyOffsetX);
+        markDirty(minX - ENEMY_DIRTY_HALF_WIDTH, 0, maxX - minX + ENEMY_DIRTY_HALF_WIDTH * 2, getHeight());
     }
 
     public void updateLogic() {
-        projectiles.removeIf(Projectile::update);
+        markParticlesDirty();
+        particles.update();
+        markParticlesDirty();
         if (shakeDuration > 0) {
             shakeDuration--;
+            markDirty(0, 0, getWidth(), getHeight()); // 整個畫面都被位移
         }
 
         // Enemy Animation Logic
+        boolean enemyMoving = enemyAnimState != EnemyAnimState.IDLE;
+        if (enemyMoving)
+            markEnemyDirty();
+        previousEnemyOffsetX = enemyOffsetX;
         if (enemyAnimState == EnemyAnimState.FORWARD) {
             enemyOffsetX -= 25.0f; // Move left fast
             if (enemyOffsetX <= -300) { // Target reached (approx player pos)
                 enemyAnimState = EnemyAnimState.BACK;
                 if (enemyOnHit != null) {
                     startShake(10, 5); // Shake on hit
+                    particles.spawnSparks(getWidth() / 4, playerCenterY(), GameConstants.HIT_SPARK_COUNT,
+                            ParticleSystem.PALETTE_HURT, 6f);
                     enemyOnHit.run();
                 }
             }
@@ -182,6 +321,8 @@ public class GamePanel extends JPanel {
                     enemyOnFinish.run();
             }
         }
+        if (enemyMoving)
+            markEnemyDirty();
     }
 
     public void playEnemyAttackAnimation(Runnable onHit, Runnable onFinish) {
@@ -189,52 +330,87 @@ public class GamePanel extends JPanel {
         this.enemyOnFinish = onFinish;
         this.enemyAnimState = EnemyAnimState.FORWARD;
         this.enemyOffsetX = 0;
+        this.previousEnemyOffsetX = 0;
+        notifyAnimation();
     }
 
     private void drawMap(Graphics2D g2d) {
-        g2d.setColor(GameConstants.BACKGROUND_COLOR);
-        g2d.fillRect(0, 0, getWidth(), getHeight());
-
-        int floorSpacing = getHeight() / GameConstants.MAP_FLOORS;
-        int widthCenter = getWidth() / 2;
-
-        for (List<MapNode> floor : mapManager.gameMap) {
-            for (MapNode node : floor) {
-                int nodeY = node.y * floorSpacing + floorSpacing / 2;
-                int nodeX = widthCenter + (node.x - 3) * (getWidth() / 8);
-
-                // 1. 繪製連線
-                for (MapNode next : node.nextNodes) {
-                    int nextY = next.y * floorSpacing + floorSpacing / 2;
-                    int nextX = widthCenter + (next.x - 3) * (getWidth() / 8);
-                    g2d.setColor(node.visited ? new Color(100, 100, 100) : new Color(50, 50, 50));
-                    g2d.setStroke(new BasicStroke(2));
-                    g2d.drawLine(nodeX + GameConstants.MAP_NODE_SIZE / 2, nodeY + GameConstants.MAP_NODE_SIZE / 2,
-                            nextX + GameConstants.MAP_NODE_SIZE / 2, nextY + GameConstants.MAP_NODE_SIZE / 2);
-                }
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0)
+            return;
+
+        if (mapLayer == null || mapLayerVersion != mapManager.getVersion() || mapLayer.getWidth() != width
+                || mapLayer.getHeight() != height) {
+            renderMapLayer(width, height);
+        }
+        g2d.drawImage(mapLayer, 0, 0, null);
+
+        // 動態部分：目前位置與可前往的節點
+        MapNode current = mapManager.currentNode;
+        if (current == null)
+            return;
+        MapGraph graph = mapManager.getGraph();
+        MapLayout layout = mapManager.getLayout(width, height);
+        g2d.setColor(Color.WHITE);
+        g2d.setStroke(MAP_EDGE_STROKE);
+        for (int e = graph.edgeStart(current.id); e < graph.edgeEnd(current.id); e++) {
+            int next = graph.edgeTarget(e);
+            g2d.drawOval(layout.x(next) - 2, layout.y(next) - 2,
+                    GameConstants.MAP_NODE_SIZE + 4, GameConstants.MAP_NODE_SIZE + 4);
+        }
+        drawMapNode(g2d, current.type, Color.YELLOW, layout.x(current.id), layout.y(current.id));
+    }
 
-                // 2. 繪製節點
-                Color color = getNodeColor(node.type);
-                boolean isNextMove = mapManager.currentNode.nextNodes.contains(node);
+    private void renderMapLayer(int width, int height) {
+        GraphicsConfiguration gc = renderConfig;
+        if (mapLayer == null || mapLayer.getWidth() != width || mapLayer.getHeight() != height) {
+            mapLayer = gc != null ? gc.createCompatibleImage(width, height, Transparency.OPAQUE)
+                    : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        mapLayerVersion = mapManager.getVersion();
 
-                if (node == mapManager.currentNode) {
-                    color = Color.YELLOW;
-                } else if (isNextMove) {
-                    g2d.setColor(Color.WHITE);
-                    g2d.drawOval(nodeX - 2, nodeY - 2, GameConstants.MAP_NODE_SIZE + 4,
-                            GameConstants.MAP_NODE_SIZE + 4);
+        Graphics2D g2d = mapLayer.createGraphics();
+        try {
+            g2d.setColor(GameConstants.BACKGROUND_COLOR);
+            g2d.fillRect(0, 0, width, height);
+
+            MapGraph graph = mapManager.getGraph();
+            if (graph == null)
+                return;
+            MapLayout layout = mapManager.getLayout(width, height);
+            int half = GameConstants.MAP_NODE_SIZE / 2;
+
+            // 1. 繪製連線
+            g2d.setStroke(MAP_EDGE_STROKE);
+            for (int node = 0; node < graph.nodeCount(); node++) {
+                int nodeX = layout.x(node);
+                int nodeY = layout.y(node);
+                g2d.setColor(mapManager.isVisited(node) ? MAP_EDGE_VISITED_COLOR : MAP_EDGE_COLOR);
+                for (int e = graph.edgeStart(node); e < graph.edgeEnd(node); e++) {
+                    int next = graph.edgeTarget(e);
+                    g2d.drawLine(nodeX + half, nodeY + half, layout.x(next) + half, layout.y(next) + half);
                 }
+            }
 
-                g2d.setColor(color);
-                g2d.fillOval(nodeX, nodeY, GameConstants.MAP_NODE_SIZE, GameConstants.MAP_NODE_SIZE);
-                g2d.setColor(Color.BLACK);
-                g2d.setFont(GameConstants.UI_FONT.deriveFont(10f));
-                String label = node.type.name().substring(0, Math.min(node.type.name().length(), 4));
-                g2d.drawString(label, nodeX + 5, nodeY + GameConstants.MAP_NODE_SIZE / 2 + 5);
+            // 2. 繪製節點
+            for (int node = 0; node < graph.nodeCount(); node++) {
+                drawMapNode(g2d, graph.type(node), getNodeColor(graph.type(node)), layout.x(node), layout.y(node));
             }
+        } finally {
+            g2d.dispose();
         }
     }
 
+    private void drawMapNode(Graphics2D g2d, NodeType type, Color color, int nodeX, int nodeY) {
+        g2d.setColor(color);
+        g2d.fillOval(nodeX, nodeY, GameConstants.MAP_NODE_SIZE, GameConstants.MAP_NODE_SIZE);
+        g2d.setColor(Color.BLACK);
+        g2d.setFont(MAP_LABEL_FONT);
+        String label = type.name().substring(0, Math.min(type.name().length(), 4));
+        g2d.drawString(label, nodeX + 5, nodeY + GameConstants.MAP_NODE_SIZE / 2 + 5);
+    }
+
     private Color getNodeColor(NodeType type) {
         return switch (type) {
             case START -> Color.GREEN;
@@ -263,51 +439,56 @@ public class GamePanel extends JPanel {
         int playerX = getWidth() / 4;
 
         // 繪製玩家圖片 (Align bottom to floorY)
-        if (playerImage != null) {
-            g2d.drawImage(playerImage, playerX - GameConstants.PLAYER_IMAGE_WIDTH / 2,
-                    floorY - GameConstants.PLAYER_IMAGE_HEIGHT,
-                    GameConstants.PLAYER_IMAGE_WIDTH, GameConstants.PLAYER_IMAGE_HEIGHT, null);
+        long blitStart = PROFILE_BLITS ? System.nanoTime() : 0;
+        if (playerSprite.isLoaded()) {
+            playerSprite.draw(g2d, playerX - GameConstants.PLAYER_IMAGE_WIDTH / 2,
+                    floorY - GameConstants.PLAYER_IMAGE_HEIGHT);
         } else {
             g2d.setColor(Color.GREEN);
             g2d.fillRect(playerX - 30, floorY - 60, 60, 60);
         }
 
+        if (PROFILE_BLITS)
+            blitNanos += System.nanoTime() - blitStart;
+
         // Player Labels (On floor)
         g2d.setColor(Color.WHITE);
-        g2d.setFont(GameConstants.UI_FONT);
-        g2d.drawString("玩家", playerX - 15, floorY + 25);
+        playerLabel.draw(g2d, playerX - 15, floorY + 25);
 
         if (player.block > 0) {
             g2d.setColor(Color.CYAN);
             g2d.fillOval(playerX + GameConstants.PLAYER_IMAGE_WIDTH / 2 + 10,
                     floorY - GameConstants.PLAYER_IMAGE_HEIGHT / 2, 30, 30);
             g2d.setColor(Color.BLACK);
-            g2d.drawString(String.valueOf(player.block), playerX + GameConstants.PLAYER_IMAGE_WIDTH / 2 + 20,
+            blockLabel.draw(g2d, player.block, playerX + GameConstants.PLAYER_IMAGE_WIDTH / 2 + 20,
                     floorY - GameConstants.PLAYER_IMAGE_HEIGHT / 2 + 20);
         }
 
         Enemy enemy = combatManager.enemies.isEmpty() ? null : combatManager.enemies.get(0);
         if (enemy != null) {
-            int enemyDisplayX = getWidth() * 3 / 4 + (int) enemyOffsetX;
+            float offsetX = previousEnemyOffsetX + (enemyOffsetX - previousEnemyOffsetX) * interpolation;
+            int enemyDisplayX = getWidth() * 3 / 4 + (int) offsetX;
 
             // 判斷是否為 Boss
             boolean isBoss = enemy.name.equals("最終首領") || enemy.maxHealth >= GameConstants.ENEMY_BOSS_HP;
-            Image targetImage = isBoss ? bossImage : enemyImage;
-            int width = isBoss ? GameConstants.BOSS_IMAGE_WIDTH : GameConstants.ENEMY_IMAGE_WIDTH;
-            int height = isBoss ? GameConstants.BOSS_IMAGE_HEIGHT : GameConstants.ENEMY_IMAGE_HEIGHT;
+            SpriteCache.Sprite targetSprite = isBoss ? bossSprite : enemySprite;
+            int width = targetSprite.width;
+            int height = targetSprite.height;
 
-            if (targetImage != null) {
-                g2d.drawImage(targetImage, enemyDisplayX - width / 2, floorY - height, width, height, null);
+            blitStart = PROFILE_BLITS ? System.nanoTime() : 0;
+            if (targetSprite.isLoaded()) {
+                targetSprite.draw(g2d, enemyDisplayX - width / 2, floorY - height);
             } else {
                 g2d.setColor(Color.BLUE);
                 g2d.fillOval(enemyDisplayX - 30, floorY - 60, 60, 60);
             }
+            if (PROFILE_BLITS)
+                blitNanos += System.nanoTime() - blitStart;
 
             // Enemy Labels (On floor)
             g2d.setColor(Color.WHITE);
-            g2d.setFont(GameConstants.UI_FONT);
-            g2d.drawString(enemy.name, enemyDisplayX - 25, floorY + 25);
-            g2d.drawString("HP: " + enemy.health + "/" + enemy.maxHealth, enemyDisplayX - 35, floorY + 45);
+            enemyNameLabel.drawText(g2d, enemy.name, enemyDisplayX - 25, floorY + 25);
+            enemyHpLabel.draw(g2d, enemy.health, enemy.maxHealth, enemyDisplayX - 35, floorY + 45);
 
             // HP Bar (Above Enemy)
             g2d.setColor(Color.RED);
@@ -318,78 +499,122 @@ public class GamePanel extends JPanel {
 
             // Attack Intent
             g2d.setColor(Color.ORANGE);
-            g2d.setFont(GameConstants.UI_FONT.deriveFont(java.awt.Font.BOLD, 18f));
-            g2d.drawString("攻擊 (" + enemy.baseDamage + ")", enemyDisplayX - 30, floorY - height - 30);
+            intentLabel.draw(g2d, enemy.baseDamage, enemyDisplayX - 30, floorY - height - 30);
         }
 
         // 3. Combo Hit Display
-        if (combatManager.comboCount > 1) {
-            String comboText = combatManager.comboCount + " HITS!";
-            g2d.setFont(GameConstants.UI_FONT.deriveFont(java.awt.Font.BOLD | java.awt.Font.ITALIC, 48f));
+        if (combatManager.getComboCount() > 1) {
+            int combo = combatManager.getComboCount();
 
             int textX = getWidth() / 2 - 100;
             int textY = getHeight() / 2 - 100;
 
             // Shadow
             g2d.setColor(Color.BLACK);
-            g2d.drawString(comboText, textX + 4, textY + 4);
+            comboLabel.draw(g2d, combo, textX + 4, textY + 4);
 
             // Main Text (Gradient-like effect using 2 colors)
             g2d.setColor(Color.YELLOW);
-            g2d.drawString(comboText, textX, textY);
+            comboLabel.draw(g2d, combo, textX, textY);
 
             g2d.setColor(Color.ORANGE);
             g2d.setStroke(new BasicStroke(2));
             g2d.setColor(Color.ORANGE);
             g2d.setStroke(new BasicStroke(2));
-            g2d.drawString(comboText, textX, textY); // Re-draw for thickness/style
+            comboLabel.draw(g2d, combo, textX, textY); // Re-draw for thickness/style
         }
 
-        // 4. Projectiles
-        for (Projectile p : projectiles) {
-            p.draw(g2d);
+        // 4. Projectiles / sparks / damage numbers
+        blitStart = PROFILE_BLITS ? System.nanoTime() : 0;
+        particles.draw(g2d, interpolation);
+        if (PROFILE_BLITS) {
+            blitNanos += System.nanoTime() - blitStart;
+            reportBlitTime();
         }
     }
 
+    private void reportBlitTime() {
+        if (++blitFrames < BLIT_REPORT_FRAMES)
+            return;
+        System.out.println(String.format("精靈繪製: 平均 %.1f µs/幀 (精靈快取 %s)", blitNanos / 1000.0 / blitFrames,
+                SpriteCache.isEnabled() ? "開" : "關"));
+        blitNanos = 0;
+        blitFrames = 0;
+    }
+
     public void spawnAttackEffect(boolean isStrong, Runnable onHitCallback) {
+        spawnAttackVolley(isStrong, 1, onHitCallback);
+    }
+
+    // 連發: count 發投射物依序出發，onHitCallback 只在最後一發命中時執行一次
+    public void spawnAttackVolley(boolean isStrong, int count, Runnable onHitCallback) {
         int floorY = getHeight() * 3 / 4;
         int playerX = getWidth() / 4;
         int enemyX = getWidth() * 3 / 4;
 
-        double startX, startY;
-        double targetX, targetY;
-        double speed = 20.0; // Speed of projectile
-        Image image;
-        int pWidth, pHeight;
+        float startX, startY;
+        float targetX, targetY;
+        float speed = 20f; // Speed of projectile
+        int spriteId;
+        SpriteCache.Sprite sprite;
 
         if (isStrong) {
             // Strong Attack: Run along floor
             // Image drawn centered at (x, y), so y + height/2 = floorY => y = floorY -
             // height/2
-            pWidth = GameConstants.ATTACK1_IMAGE_WIDTH;
-            pHeight = GameConstants.ATTACK1_IMAGE_HEIGHT;
+            sprite = attack1Sprite;
+            spriteId = attack1SpriteId;
 
             startX = playerX;
-            startY = floorY - pHeight / 2.0;
+            startY = floorY - sprite.height / 2f;
             targetX = enemyX;
-            targetY = floorY - pHeight / 2.0;
-            image = attack1Image;
+            targetY = floorY - sprite.height / 2f;
         } else {
             // Weak Attack: Fly from center
-            pWidth = GameConstants.ATTACK0_IMAGE_WIDTH;
-            pHeight = GameConstants.ATTACK0_IMAGE_HEIGHT;
+            sprite = attack0Sprite;
+            spriteId = attack0SpriteId;
 
             startX = playerX;
-            startY = floorY - GameConstants.PLAYER_IMAGE_HEIGHT / 2.0; // Center body
+            startY = playerCenterY(); // Center body
             targetX = enemyX;
-            targetY = floorY - GameConstants.ENEMY_IMAGE_HEIGHT / 2.0; // Center enemy
-            image = attack0Image;
+            targetY = floorY - GameConstants.ENEMY_IMAGE_HEIGHT / 2f; // Center enemy
+        }
+
+        for (int i = 0; i < count; i++) {
+            Runnable arrive = i == count - 1 ? onHitCallback : null;
+            particles.spawnProjectile(startX, startY, targetX, targetY, speed, spriteId,
+                    i * GameConstants.VOLLEY_INTERVAL_STEPS, arrive);
         }
+        notifyAnimation();
+    }
+
+    // 每發投射物命中：震動並在命中點噴出火花
+    private void onProjectileImpact(float x, float y) {
+        startShake(10, 5); // Shake for 10 ticks with intensity 5
+        particles.spawnSparks(x, y, GameConstants.HIT_SPARK_COUNT, ParticleSystem.PALETTE_HIT, 6f);
+    }
+
+    // 由事件日誌轉送：在受傷的一方頭上飄出傷害數字
+    public void onGameEvent(GameEvent type, Object subject, int a, int b) {
+        switch (type) {
+            case DAMAGE_DEALT:
+                particles.spawnDamageNumber(getWidth() * 3 / 4, enemyCenterY() - 60, a, ParticleSystem.PALETTE_HIT);
+                break;
+            case PLAYER_HIT:
+            case SELF_DAMAGE:
+                particles.spawnDamageNumber(getWidth() / 4, playerCenterY() - 60, a, ParticleSystem.PALETTE_HURT);
+                break;
+            default:
+                return;
+        }
+        notifyAnimation();
+    }
+
+    private float playerCenterY() {
+        return getHeight() * 3 / 4 - GameConstants.PLAYER_IMAGE_HEIGHT / 2f;
+    }
 
-        projectiles.add(new Projectile(startX, startY, targetX, targetY, speed, image, pWidth, pHeight, () -> {
-            startShake(10, 5); // Shake for 10 ticks with intensity 5
-            if (onHitCallback != null)
-                onHitCallback.run();
-        }));
+    private float enemyCenterY() {
+        return getHeight() * 3 / 4 - GameConstants.ENEMY_IMAGE_HEIGHT / 2f;
     }
 }
@@ -0,0 +1,100 @@
+// 可重現、可分裂的亂數 (SplitMix64)。
+// 一局遊戲只用一個種子，再分出互不干擾的串流 (洗牌 / 掉落 / 畫面效果 / 地圖)；
+// 每個串流只給單一執行緒使用，平行模擬時各 worker 自行 split()，不共用同一個 Random。
+public final class GameRandom {
+    public enum Stream {
+        SHUFFLE, LOOT, VISUAL, MAP
+    }
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long initialSeed;
+    private long seed;
+    private long gamma;
+
+    public GameRandom(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private GameRandom(long seed, long gamma) {
+        this.initialSeed = seed;
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    // 由初始種子衍生出固定的具名串流，不受此物件已產生多少亂數影響
+    public GameRandom stream(Stream stream) {
+        return new GameRandom(mix64(initialSeed + (stream.ordinal() + 1) * GOLDEN_GAMMA));
+    }
+
+    // 複製目前狀態；兩者之後會產生相同的序列
+    public GameRandom copy() {
+        return new GameRandom(seed, gamma);
+    }
+
+    // 分出一個新的獨立串流 (會推進目前串流)
+    public GameRandom split() {
+        return new GameRandom(mix64(nextSeed()), mixGamma(nextSeed()));
+    }
+
+    public void reseed(long newSeed) {
+        seed = newSeed;
+        gamma = GOLDEN_GAMMA;
+    }
+
+    // 供戰鬥快照保存 / 還原
+    public long getState() {
+        return seed;
+    }
+
+    public void setState(long state) {
+        seed = state;
+    }
+
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    public int nextInt(int bound) {
+        if (bound <= 0)
+            throw new IllegalArgumentException("bound must be positive");
+        int r = mix32(nextSeed());
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            r &= m;
+        } else {
+            for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(nextSeed()) >>> 1)
+                ;
+        }
+        return r;
+    }
+
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    public boolean nextBoolean() {
+        return mix32(nextSeed()) < 0;
+    }
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    public static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+
+    private static long mixGamma(long z) {
+        z = mix64(z) | 1L;
+        int transitions = Long.bitCount(z ^ (z >>> 1));
+        return (transitions < 24) ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+    }
+}
@@ -0,0 +1,57 @@
+// 簡單的啟發式打法，作為平衡模擬的基準玩家。
+public class GreedyPolicy implements CombatPolicy {
+    @Override
+    public int chooseAction(CombatEngine engine) {
+        Player player = engine.player;
+        CardPiles piles = player.piles;
+        if (engine.enemies.isEmpty())
+            return END_TURN;
+        Enemy target = engine.enemies.get(0);
+
+        int bestAttack = -1;
+        int bestDefend = -1;
+        int heal = -1;
+        for (int i = 0; i < piles.handCount(); i++) {
+            Card card = piles.handCard(i);
+            if (card.energyCost > player.energy)
+                continue;
+            if (card.energyCost == 0)
+                return i; // 免費的牌先打
+
+            if (card.type == CardType.ATTACK) {
+                if (card.value >= target.health + target.block)
+                    return i; // 可以擊殺
+                if (bestAttack < 0 || damagePerEnergy(card) > damagePerEnergy(piles.handCard(bestAttack)))
+                    bestAttack = i;
+            } else if (card.definition.opcode == CardDefinition.OP_HEAL) {
+                heal = i;
+            } else if (card.definition.opcode != CardDefinition.OP_BLOCK) {
+                continue;
+            } else if (bestDefend < 0 || card.value > piles.handCard(bestDefend).value) {
+                bestDefend = i;
+            }
+        }
+
+        if (heal >= 0 && player.maxHealth - player.health >= piles.handCard(heal).value)
+            return heal;
+        if (bestDefend >= 0 && player.block < incomingDamage(engine))
+            return bestDefend;
+        if (bestAttack >= 0)
+            return bestAttack;
+        if (bestDefend >= 0)
+            return bestDefend;
+        return heal >= 0 ? heal : END_TURN;
+    }
+
+    private static double damagePerEnergy(Card card) {
+        return (double) card.value / Math.max(1, card.energyCost);
+    }
+
+    private static int incomingDamage(CombatEngine engine) {
+        int total = 0;
+        for (int i = 0; i < engine.enemies.size(); i++) {
+            total += engine.enemies.get(i).baseDamage;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,227 @@
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Stroke;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.swing.JComponent;
+import javax.swing.ToolTipManager;
+
+// 單一自繪的手牌元件：一次繪製所有卡牌，自行做點擊判定、滑鼠懸停與不可用狀態。
+// - 卡面來自 CardFaceCache；卡圖尚未載入時畫成與按鈕版相同配色的純文字卡。
+// - 卡牌由左至右排列並置中，放不下時縮小間距讓卡牌重疊 (右邊的在上層)，
+//   因此點擊判定只需一次除法：x 落在第 i 張的起點與下一張起點之間就是第 i 張。
+// 只供 EDT 使用。
+public final class HandComponent extends JComponent implements HandDisplay {
+    private static final long serialVersionUID = 1L;
+    private static final int CARD_WIDTH = GameConstants.CARD_IMAGE_WIDTH;
+    private static final int CARD_HEIGHT = GameConstants.CARD_IMAGE_HEIGHT;
+    private static final int GAP = 10;
+    private static final int HOVER_LIFT = 8;
+    private static final Color ATTACK_COLOR = new Color(200, 50, 50);
+    private static final Color SKILL_COLOR = new Color(50, 50, 200);
+    private static final Color UPGRADED_COLOR = new Color(255, 165, 0);
+    private static final Color HOVER_BORDER = Color.YELLOW;
+    private static final Stroke HOVER_STROKE = new BasicStroke(3);
+    private static final Font NAME_FONT = GameConstants.UI_FONT.deriveFont(Font.BOLD, 13f);
+    private static final Font TEXT_FONT = GameConstants.UI_FONT.deriveFont(12f);
+    private static final Comparator<Card> BY_TYPE = Comparator.comparing(card -> card.type.toString());
+
+    private final Image[] cardImages; // 以 CardDefinition.id 索引，背景載入完成後才有值
+    private final CardFaceCache cardFaces;
+    private final Consumer<Card> onPlay;
+
+    private final List<Card> cards = new ArrayList<>();
+    private boolean[] playable = new boolean[16];
+    private int hoverIndex = -1;
+    private int pressedIndex = -1;
+
+    public HandComponent(Image[] cardImages, CardFaceCache cardFaces, Consumer<Card> onPlay) {
+        this.cardImages = cardImages;
+        this.cardFaces = cardFaces;
+        this.onPlay = onPlay;
+        setOpaque(true);
+        ToolTipManager.sharedInstance().registerComponent(this);
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                setHoverIndex(cardAt(e.getX(), e.getY()));
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHoverIndex(-1);
+            }
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                pressedIndex = cardAt(e.getX(), e.getY());
+            }
+
+            // 與按鈕相同：在同一張牌上按下並放開才算打出
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                int index = cardAt(e.getX(), e.getY());
+                boolean click = index >= 0 && index == pressedIndex && playable[index];
+                pressedIndex = -1;
+                if (click)
+                    onPlay.accept(cards.get(index));
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+    }
+
+    @Override
+    public JComponent getComponent() {
+        return this;
+    }
+
+    @Override
+    public void update(List<Card> hand, int energy, boolean turnActive) {
+        cards.clear();
+        if (hand != null) {
+            cards.addAll(hand);
+            cards.sort(BY_TYPE);
+        }
+        if (playable.length < cards.size())
+            playable = new boolean[Math.max(cards.size(), playable.length * 2)];
+        for (int i = 0; i < cards.size(); i++)
+            playable[i] = turnActive && energy >= cards.get(i).energyCost;
+        if (hoverIndex >= cards.size())
+            hoverIndex = -1;
+        repaint();
+    }
+
+    // --- 版面 ---
+
+    // 相鄰兩張卡牌起點的距離 (卡牌太多時小於卡寬，彼此重疊)
+    private int step() {
+        int n = cards.size();
+        if (n <= 1)
+            return CARD_WIDTH + GAP;
+        return Math.max(1, Math.min(CARD_WIDTH + GAP, (getWidth() - GAP * 2 - CARD_WIDTH) / (n - 1)));
+    }
+
+    private int firstCardX(int step) {
+        int total = CARD_WIDTH + step * (cards.size() - 1);
+        return Math.max(GAP, (getWidth() - total) / 2);
+    }
+
+    private int cardX(int index) {
+        int step = step();
+        return firstCardX(step) + index * step;
+    }
+
+    // 點擊判定；沒有卡牌時回傳 -1
+    private int cardAt(int x, int y) {
+        int n = cards.size();
+        if (n == 0 || y < GAP - HOVER_LIFT || y >= GAP + CARD_HEIGHT)
+            return -1;
+        int step = step();
+        int offset = x - firstCardX(step);
+        if (offset < 0)
+            return -1;
+        int index = Math.min(n - 1, offset / step);
+        return offset - index * step < CARD_WIDTH ? index : -1;
+    }
+
+    private void setHoverIndex(int index) {
+        if (index == hoverIndex)
+            return;
+        repaintCard(hoverIndex);
+        hoverIndex = index;
+        repaintCard(hoverIndex);
+    }
+
+    private void repaintCard(int index) {
+        if (index >= 0 && index < cards.size())
+            repaint(cardX(index) - 2, GAP - HOVER_LIFT - 2, CARD_WIDTH + 4, CARD_HEIGHT + HOVER_LIFT + 4);
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        int index = cardAt(e.getX(), e.getY());
+        return index >= 0 ? cards.get(index).description : null;
+    }
+
+    @Override
+    public Dimension getMinimumSize() {
+        return new Dimension(CARD_WIDTH + GAP * 2, CARD_HEIGHT + GAP * 2);
+    }
+
+    // --- 繪製 ---
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setColor(getBackground());
+        g2d.fillRect(0, 0, getWidth(), getHeight());
+        if (cards.isEmpty())
+            return;
+
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        int step = step();
+        int x = firstCardX(step);
+        Rectangle clip = g2d.getClipBounds();
+        for (int i = 0; i < cards.size(); i++, x += step) {
+            if (clip != null && (x + CARD_WIDTH < clip.x || x > clip.x + clip.width))
+                continue;
+            if (i == hoverIndex && playable[i])
+                continue; // 最後才畫，位於最上層
+            // 重疊時只畫露出的部分 (下一張浮起時其下方會露出整張寬度)
+            boolean covered = i < cards.size() - 1 && !(i + 1 == hoverIndex && playable[i + 1]);
+            drawCard(g2d, cards.get(i), playable[i], x, GAP, covered ? Math.min(CARD_WIDTH, step) : CARD_WIDTH);
+        }
+
+        // 懸停中的可打出卡牌浮起並加框
+        if (hoverIndex >= 0 && playable[hoverIndex]) {
+            int hoverX = firstCardX(step) + hoverIndex * step;
+            drawCard(g2d, cards.get(hoverIndex), true, hoverX, GAP - HOVER_LIFT, CARD_WIDTH);
+            g2d.setColor(HOVER_BORDER);
+            g2d.setStroke(HOVER_STROKE);
+            g2d.drawRect(hoverX, GAP - HOVER_LIFT, CARD_WIDTH - 1, CARD_HEIGHT - 1);
+        }
+    }
+
+    private void drawCard(Graphics2D g2d, Card card, boolean canPlay, int x, int y, int visibleWidth) {
+        Image art = cardImages[card.definition.id];
+        if (art != null) {
+            // 合成好的卡面 (含費用) 由快取提供；不可打出時用灰階版本
+            Image face = cardFaces.get(card, art, canPlay).getImage();
+            g2d.drawImage(face, x, y, x + visibleWidth, y + CARD_HEIGHT, 0, 0, visibleWidth, CARD_HEIGHT, this);
+            return;
+        }
+
+        Color bgColor = card.type == CardType.ATTACK ? ATTACK_COLOR : SKILL_COLOR;
+        if (card.definition.upgraded)
+            bgColor = UPGRADED_COLOR;
+        g2d.setColor(canPlay ? bgColor : bgColor.darker().darker());
+        g2d.fillRect(x, y, CARD_WIDTH, CARD_HEIGHT);
+        g2d.setColor(Color.GRAY);
+        g2d.drawRect(x, y, CARD_WIDTH - 1, CARD_HEIGHT - 1);
+
+        g2d.setColor(canPlay ? Color.WHITE : Color.LIGHT_GRAY);
+        g2d.setFont(NAME_FONT);
+        drawCentered(g2d, card.name + " [" + card.energyCost + "]", x, y + CARD_HEIGHT / 2 - 4);
+        g2d.setFont(TEXT_FONT);
+        drawCentered(g2d, card.definition.valueLabel() + ": " + card.value, x, y + CARD_HEIGHT / 2 + 16);
+    }
+
+    private static void drawCentered(Graphics2D g2d, String text, int x, int baseline) {
+        FontMetrics fm = g2d.getFontMetrics();
+        g2d.drawString(text, x + (CARD_WIDTH - fm.stringWidth(text)) / 2, baseline);
+    }
+}
@@ -0,0 +1,10 @@
+import java.util.List;
+import javax.swing.JComponent;
+
+// 底部手牌區。預設為單一自繪元件 (HandComponent)；-Dgame.buttonHand=true 時改用每張牌一個按鈕 (HandView)。
+public interface HandDisplay {
+    // hand 為 null 時清空 (不在戰鬥中)
+    void update(List<Card> hand, int energy, boolean turnActive);
+
+    JComponent getComponent();
+}
@@ -0,0 +1,153 @@
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.Image;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.swing.ImageIcon;
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+
+// 以按鈕顯示手牌 (-Dgame.buttonHand=true；預設為 HandComponent)。
+// 增量更新：每張卡牌實例 (以物件身分為鍵) 對應一個固定的按鈕。
+// update() 只新增 / 移除 / 調整順序有變的按鈕，其餘按鈕只在原地切換可用狀態與卡面，
+// 版面結構有變才 revalidate。打出一張牌的成本因此與手牌張數無關。
+// 只供 EDT 使用。
+public final class HandView implements HandDisplay {
+    private static final Font CARD_BUTTON_FONT = GameConstants.UI_FONT.deriveFont(12f);
+    private static final Color ATTACK_COLOR = new Color(200, 50, 50);
+    private static final Color SKILL_COLOR = new Color(50, 50, 200);
+    private static final Color UPGRADED_COLOR = new Color(255, 165, 0);
+    // 依類型名稱排序 (與原本的顯示順序相同；List.sort 為穩定排序)
+    private static final Comparator<Card> BY_TYPE = Comparator.comparing(card -> card.type.toString());
+
+    private final JPanel panel;
+    private final Image[] cardImages; // 以 CardDefinition.id 索引，背景載入完成後才有值
+    private final CardFaceCache cardFaces;
+    private final Consumer<Card> onPlay;
+
+    private final Map<Card, Slot> slots = new IdentityHashMap<>();
+    private final List<Card> sorted = new ArrayList<>();
+    private int generation;
+
+    private static final class Slot {
+        final Card card;
+        final JButton button;
+        CardDefinition definition; // 目前按鈕顯示的內容
+        Image art;
+        boolean playable;
+        boolean initialized;
+        int seen; // 最後一次出現在手牌中的 generation
+
+        Slot(Card card, JButton button) {
+            this.card = card;
+            this.button = button;
+        }
+    }
+
+    public HandView(Image[] cardImages, CardFaceCache cardFaces, Consumer<Card> onPlay) {
+        this.panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
+        this.cardImages = cardImages;
+        this.cardFaces = cardFaces;
+        this.onPlay = onPlay;
+    }
+
+    @Override
+    public JComponent getComponent() {
+        return panel;
+    }
+
+    @Override
+    public void update(List<Card> hand, int energy, boolean turnActive) {
+        generation++;
+        sorted.clear();
+        if (hand != null) {
+            sorted.addAll(hand);
+            sorted.sort(BY_TYPE);
+        }
+
+        for (int i = 0; i < sorted.size(); i++) {
+            Card card = sorted.get(i);
+            Slot slot = slots.get(card);
+            if (slot == null) {
+                slot = new Slot(card, createButton(card));
+                slots.put(card, slot);
+            }
+            slot.seen = generation;
+            refresh(slot, turnActive && energy >= card.energyCost);
+        }
+
+        // 先移除已離開手牌的卡牌，剩下的按鈕通常已是正確順序，下面就不必搬動
+        boolean structureChanged = false;
+        for (Iterator<Slot> it = slots.values().iterator(); it.hasNext();) {
+            Slot slot = it.next();
+            if (slot.seen != generation) {
+                panel.remove(slot.button);
+                it.remove();
+                structureChanged = true;
+            }
+        }
+
+        // 補上新卡並修正順序
+        for (int i = 0; i < sorted.size(); i++) {
+            JButton button = slots.get(sorted.get(i)).button;
+            if (i >= panel.getComponentCount() || panel.getComponent(i) != button) {
+                panel.add(button, i); // 已在面板中時會先移除再插入
+                structureChanged = true;
+            }
+        }
+
+        if (structureChanged) {
+            panel.revalidate();
+            panel.repaint();
+        }
+    }
+
+    private JButton createButton(Card card) {
+        JButton button = new JButton();
+        button.setToolTipText(card.description);
+        button.setForeground(Color.WHITE);
+        button.setFont(CARD_BUTTON_FONT);
+        button.setPreferredSize(new Dimension(GameConstants.CARD_IMAGE_WIDTH, GameConstants.CARD_IMAGE_HEIGHT));
+        button.addActionListener(e -> onPlay.accept(card));
+        return button;
+    }
+
+    // 只在顯示內容改變時更新按鈕
+    private void refresh(Slot slot, boolean playable) {
+        Card card = slot.card;
+        Image art = cardImages[card.definition.id];
+        if (slot.initialized && slot.playable == playable && slot.art == art && slot.definition == card.definition)
+            return;
+        JButton button = slot.button;
+
+        if (art != null) {
+            // 合成好的卡面 (含費用) 由快取提供；不可打出時用灰階版本
+            ImageIcon face = cardFaces.get(card, art, playable);
+            button.setIcon(face);
+            button.setDisabledIcon(face);
+            button.setText(""); // Remove text overlay
+        } else if (!slot.initialized || slot.playable != playable || slot.definition != card.definition) {
+            Color bgColor = card.type == CardType.ATTACK ? ATTACK_COLOR : SKILL_COLOR;
+            if (card.definition.upgraded)
+                bgColor = UPGRADED_COLOR;
+            String description = card.definition.valueLabel() + ": " + card.value;
+            button.setText("<html><center><b>" + card.name + "</b> [" + card.energyCost + "]<br>" +
+                    description + "</center></html>");
+            button.setBackground(playable ? bgColor : bgColor.darker().darker());
+        }
+        button.setEnabled(playable);
+
+        slot.definition = card.definition;
+        slot.art = art;
+        slot.playable = playable;
+        slot.initialized = true;
+    }
+}
@@ -0,0 +1,113 @@
+// 地圖的精簡表示 (由 MapGenerator 產生，建立後不再改變)。
+// 節點依樓層由下往上連續編號：起點是 0，首領是最後一個；第 f 層為 [floorStart(f), floorStart(f + 1))。
+// 連線以 CSR 儲存：節點 i 的下一層目標是 edges[edgeStart[i] .. edgeStart[i + 1])，
+// 不需要每個節點一個 ArrayList，上千層的地圖也只佔幾個原始型別陣列。
+public final class MapGraph {
+    private static final NodeType[] TYPES = NodeType.values();
+
+    private final int columns;
+    private final int[] floorStart; // 長度 floors + 1
+    private final int[] floorOf;
+    private final byte[] column;
+    private final byte[] type; // NodeType.ordinal()
+    private final int[] edgeStart; // 長度 nodeCount + 1
+    private final int[] edges;
+
+    MapGraph(int columns, int[] floorStart, int[] floorOf, byte[] column, byte[] type, int[] edgeStart, int[] edges) {
+        this.columns = columns;
+        this.floorStart = floorStart;
+        this.floorOf = floorOf;
+        this.column = column;
+        this.type = type;
+        this.edgeStart = edgeStart;
+        this.edges = edges;
+    }
+
+    public int floorCount() {
+        return floorStart.length - 1;
+    }
+
+    public int columnCount() {
+        return columns;
+    }
+
+    public int nodeCount() {
+        return column.length;
+    }
+
+    public int edgeCount() {
+        return edges.length;
+    }
+
+    public int start() {
+        return 0;
+    }
+
+    public int boss() {
+        return column.length - 1;
+    }
+
+    public int floorStart(int floor) {
+        return floorStart[floor];
+    }
+
+    public int floorEnd(int floor) {
+        return floorStart[floor + 1];
+    }
+
+    public int floorOf(int node) {
+        return floorOf[node];
+    }
+
+    public int column(int node) {
+        return column[node];
+    }
+
+    public NodeType type(int node) {
+        return TYPES[type[node]];
+    }
+
+    public int edgeStart(int node) {
+        return edgeStart[node];
+    }
+
+    public int edgeEnd(int node) {
+        return edgeStart[node + 1];
+    }
+
+    public int edgeTarget(int edge) {
+        return edges[edge];
+    }
+
+    public boolean hasEdge(int from, int to) {
+        for (int e = edgeStart[from]; e < edgeStart[from + 1]; e++) {
+            if (edges[e] == to)
+                return true;
+        }
+        return false;
+    }
+
+    // 線性時間檢查：每個節點都能從起點走到，也都能走到首領 (沒有死路)。
+    // 連線只會往上一層，依編號順推、逆推各一次即可。
+    public boolean validate() {
+        int n = nodeCount();
+        boolean[] reached = new boolean[n];
+        reached[start()] = true;
+        for (int i = 0; i < n; i++) {
+            if (!reached[i])
+                return false;
+            for (int e = edgeStart[i]; e < edgeStart[i + 1]; e++)
+                reached[edges[e]] = true;
+        }
+
+        boolean[] reachesBoss = new boolean[n];
+        reachesBoss[boss()] = true;
+        for (int i = n - 2; i >= 0; i--) {
+            for (int e = edgeStart[i]; e < edgeStart[i + 1] && !reachesBoss[i]; e++)
+                reachesBoss[i] = reachesBoss[edges[e]];
+            if (!reachesBoss[i])
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,95 @@
+// 地圖在某個面板大小下的版面：每個節點的左上角座標，以及點擊判定用的均勻格網。
+// 第 0 層在最上方，各欄平均分布於寬度中。
+// 格子邊長等於節點大小，每個節點最多落在 2 x 2 格，點擊時只需檢查滑鼠所在那一格的節點；
+// 格子內容以 CSR (cellStart / cellNodes) 儲存，建立時兩次線性掃描 (計數、填入)。
+// 由 MapManager 依 (地圖, 寬, 高) 快取，GamePanel 繪圖與 handleMapClick 共用同一份。
+public final class MapLayout {
+    private static final int SIZE = GameConstants.MAP_NODE_SIZE;
+
+    private final MapGraph graph;
+    private final int width;
+    private final int height;
+    private final int[] nodeX;
+    private final int[] nodeY;
+    private final int gridColumns;
+    private final int gridRows;
+    private final int[] cellStart; // 長度 gridColumns * gridRows + 1
+    private final int[] cellNodes;
+
+    MapLayout(MapGraph graph, int width, int height) {
+        this.graph = graph;
+        this.width = width;
+        this.height = height;
+        int n = graph.nodeCount();
+        nodeX = new int[n];
+        nodeY = new int[n];
+        int columns = graph.columnCount();
+        int floorSpacing = height / graph.floorCount();
+        for (int node = 0; node < n; node++) {
+            nodeX[node] = width * (graph.column(node) + 1) / (columns + 1) - SIZE / 2;
+            nodeY[node] = graph.floorOf(node) * floorSpacing + floorSpacing / 2;
+        }
+
+        gridColumns = Math.max(1, (width + SIZE - 1) / SIZE);
+        gridRows = Math.max(1, (height + SIZE - 1) / SIZE);
+        cellStart = new int[gridColumns * gridRows + 1];
+        for (int node = 0; node < n; node++) {
+            int c1 = cellColumn(nodeX[node] + SIZE);
+            int r1 = cellRow(nodeY[node] + SIZE);
+            for (int r = cellRow(nodeY[node]); r <= r1; r++) {
+                for (int c = cellColumn(nodeX[node]); c <= c1; c++)
+                    cellStart[r * gridColumns + c + 1]++;
+            }
+        }
+        for (int cell = 0; cell < gridColumns * gridRows; cell++)
+            cellStart[cell + 1] += cellStart[cell];
+        cellNodes = new int[cellStart[gridColumns * gridRows]];
+        int[] fill = new int[gridColumns * gridRows];
+        for (int node = 0; node < n; node++) {
+            int c1 = cellColumn(nodeX[node] + SIZE);
+            int r1 = cellRow(nodeY[node] + SIZE);
+            for (int r = cellRow(nodeY[node]); r <= r1; r++) {
+                for (int c = cellColumn(nodeX[node]); c <= c1; c++) {
+                    int cell = r * gridColumns + c;
+                    cellNodes[cellStart[cell] + fill[cell]++] = node;
+                }
+            }
+        }
+    }
+
+    public boolean matches(MapGraph graph, int width, int height) {
+        return this.graph == graph && this.width == width && this.height == height;
+    }
+
+    public int x(int node) {
+        return nodeX[node];
+    }
+
+    public int y(int node) {
+        return nodeY[node];
+    }
+
+    // 點擊判定：回傳包含 (px, py) 且與 from 相連的下一層節點，沒有則回傳 -1
+    // (節點重疊時也能選到可前往的那一個)
+    public int nextNodeAt(int px, int py, int from) {
+        if (px < 0 || py < 0 || px >= width || py >= height)
+            return -1;
+        int cell = cellRow(py) * gridColumns + cellColumn(px);
+        for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+            int node = cellNodes[i];
+            if (graph.floorOf(node) != graph.floorOf(from) + 1 || !graph.hasEdge(from, node))
+                continue;
+            if (px >= nodeX[node] && px <= nodeX[node] + SIZE && py >= nodeY[node] && py <= nodeY[node] + SIZE)
+                return node;
+        }
+        return -1;
+    }
+
+    private int cellColumn(int px) {
+        return Math.max(0, Math.min(gridColumns - 1, px / SIZE));
+    }
+
+    private int cellRow(int py) {
+        return Math.max(0, Math.min(gridRows - 1, py / SIZE));
+    }
+}
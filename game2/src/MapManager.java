@@ -1,95 +1,64 @@
-import java.util.ArrayList;
-import java.util.List;
-
 public class MapManager {
-    public List<List<MapNode>> gameMap = new ArrayList<>();
-    public MapNode currentNode;
     private final GameLogger logger;
+    private final GameRandom random;
+    private final MapGenerator generator = new MapGenerator(GameConstants.MAP_FLOORS, GameConstants.MAP_COLUMNS);
+    private MapGraph graph;
+    private boolean[] visited;
+    private MapLayout layout;
+    private RouteAnalyzer routes;
+    public MapNode currentNode;
+    private int version = 0; // 地圖、目前位置或已造訪狀態改變時遞增，供畫面快取判斷是否失效
 
-    public MapManager(GameLogger logger) {
+    public MapManager(GameLogger logger, GameRandom random) {
         this.logger = logger;
+        this.random = random;
     }
 
-    public void initializeMap() {
-        gameMap.clear();
-
-        // 0. START
-        MapNode start = new MapNode(3, 0, NodeType.START);
-        gameMap.add(List.of(start));
-
-        // 1. E/S
-        MapNode n1a = new MapNode(2, 1, NodeType.ENEMY);
-        MapNode n1b = new MapNode(4, 1, NodeType.SHOP);
-        start.nextNodes.add(n1a);
-        start.nextNodes.add(n1b);
-        gameMap.add(List.of(n1a, n1b));
-
-        // 2. E/T
-        MapNode n2a = new MapNode(1, 2, NodeType.ENEMY);
-        MapNode n2b = new MapNode(3, 2, NodeType.TREASURE);
-        n1a.nextNodes.add(n2a);
-        n1a.nextNodes.add(n2b);
-        n1b.nextNodes.add(n2b);
-        gameMap.add(List.of(n2a, n2b));
-
-        // 3. E/ELITE
-        MapNode n3a = new MapNode(2, 3, NodeType.ELITE);
-        MapNode n3b = new MapNode(4, 3, NodeType.ENEMY);
-        n2a.nextNodes.add(n3a);
-        n2b.nextNodes.add(n3a);
-        n2b.nextNodes.add(n3b);
-        gameMap.add(List.of(n3a, n3b));
+    public int getVersion() {
+        return version;
+    }
 
-        // 4. REST/ENEMY
-        MapNode n4a = new MapNode(3, 4, NodeType.REST);
-        n3a.nextNodes.add(n4a);
-        n3b.nextNodes.add(n4a);
-        gameMap.add(List.of(n4a));
+    public MapGraph getGraph() {
+        return graph;
+    }
 
-        // 5. SHOP/ENEMY
-        MapNode n5a = new MapNode(2, 5, NodeType.SHOP);
-        MapNode n5b = new MapNode(4, 5, NodeType.ENEMY);
-        n4a.nextNodes.add(n5a);
-        n4a.nextNodes.add(n5b);
-        gameMap.add(List.of(n5a, n5b));
+    public RouteAnalyzer getRoutes() {
+        return routes;
+    }
 
-        // 6. TREASURE
-        MapNode n6 = new MapNode(3, 6, NodeType.TREASURE);
-        n5a.nextNodes.add(n6);
-        n5b.nextNodes.add(n6);
-        gameMap.add(List.of(n6));
+    public boolean isVisited(int node) {
+        return visited[node];
+    }
 
-        // 7. BOSS
-        MapNode boss = new MapNode(3, GameConstants.MAP_FLOORS - 1, NodeType.BOSS);
-        n6.nextNodes.add(boss);
-        gameMap.add(List.of(boss));
+    public void initializeMap() {
+        graph = generator.generate(random);
+        visited = new boolean[graph.nodeCount()];
+        routes = new RouteAnalyzer(graph);
+        currentNode = new MapNode(graph, graph.start());
+        visited[currentNode.id] = true;
+        version++;
+    }
 
-        currentNode = start;
-        currentNode.visited = true;
+    // 版面依面板大小快取；大小或地圖改變時才重算
+    public MapLayout getLayout(int width, int height) {
+        if (layout == null || !layout.matches(graph, width, height))
+            layout = new MapLayout(graph, width, height);
+        return layout;
     }
 
     public MapNode handleMapClick(int clickX, int clickY, int width, int height) {
-        int floorSpacing = height / GameConstants.MAP_FLOORS;
-        int widthCenter = width / 2;
-
-        if (currentNode.y + 1 >= GameConstants.MAP_FLOORS)
+        int current = currentNode.id;
+        if (current == graph.boss())
             return null;
 
-        for (MapNode nextNode : gameMap.get(currentNode.y + 1)) {
-            if (!currentNode.nextNodes.contains(nextNode))
-                continue;
-
-            int nodeY = nextNode.y * floorSpacing + floorSpacing / 2;
-            int nodeX = widthCenter + (nextNode.x - 3) * (width / 8);
-
-            if (clickX >= nodeX && clickX <= nodeX + GameConstants.MAP_NODE_SIZE &&
-                    clickY >= nodeY && clickY <= nodeY + GameConstants.MAP_NODE_SIZE) {
-
-                currentNode = nextNode;
-                currentNode.visited = true;
-                logger.log("進入節點: " + currentNode.type.name());
-                return currentNode;
-            }
+        // 格網只檢查滑鼠所在的一格，與地圖大小無關
+        int next = getLayout(width, height).nextNodeAt(clickX, clickY, current);
+        if (next >= 0) {
+            currentNode = new MapNode(graph, next);
+            visited[next] = true;
+            version++;
+            logger.log("進入節點: " + currentNode.type.name());
+            return currentNode;
         }
         logger.log("請點擊一個已連線的下一層節點。");
         return null;
@@ -1,16 +1,14 @@
-import java.util.ArrayList;
-import java.util.List;
-
+// 地圖節點的唯讀檢視；資料存在 MapGraph 的陣列中，這裡只是方便傳遞的快照。
 public class MapNode {
-    public int x;
-    public int y;
-    public NodeType type;
-    public List<MapNode> nextNodes = new ArrayList<>();
-    public boolean visited = false;
+    public final int id; // MapGraph 中的節點編號
+    public final int x; // 欄
+    public final int y; // 樓層
+    public final NodeType type;
 
-    public MapNode(int x, int y, NodeType type) {
-        this.x = x;
-        this.y = y;
-        this.type = type;
+    public MapNode(MapGraph graph, int id) {
+        this.id = id;
+        this.x = graph.column(id);
+        this.y = graph.floorOf(id);
+        this.type = graph.type(id);
     }
 }
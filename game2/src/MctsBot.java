@@ -0,0 +1,406 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// 以蒙地卡羅樹搜尋 (MCTS) 決定出哪張牌或結束回合。
+//
+// - 動作以卡牌種類 (CardDefinition.id) 表示，結束回合為 END_TURN；同種類的牌效果相同，可合併分支。
+// - 抽牌堆順序對玩家是未知的，每次迭代都會重新洗抽牌堆 (open-loop)，避免偷看牌序。
+// - 樹平行：多條執行緒共用同一棵樹，各自擁有 fork() 出來的引擎；選擇時先加上 visits 作為 virtual loss。
+// - 置換合併：目前回合內不同出牌順序常到達相同狀態 (例如先打擊再防禦 / 先防禦再打擊)。
+//   這些狀態以 ZobristHasher 雜湊，經由共用的 TranspositionTable 找到已存在的節點並直接連過去，
+//   樹因此成為有向無環圖，統計合併在同一個節點上。表中的 value 存節點在 registry 中的索引。
+//   結束回合之後會抽牌，狀態每次迭代都不同，不做合併。
+//
+// 用法 (批次評估牌組強度): java MctsBot [每種遭遇場數] [每步迭代數] [執行緒數]
+public class MctsBot implements CombatPolicy {
+    private static final int MAX_TURNS = 100;
+    private static final int TABLE_BITS = 14;
+    private static final int REGISTRY_SIZE = 1 << 16; // 每次搜尋最多登記的可合併節點數
+
+    private final int iterations;
+    private final long timeBudgetMillis;
+    private final int threads;
+    private final double exploration;
+    private final ExecutorService executor;
+    private final GameRandom seedSource;
+
+    private final AtomicLong totalRollouts = new AtomicLong();
+    private final AtomicLong totalSearchNanos = new AtomicLong();
+    private final AtomicLong totalTranspositions = new AtomicLong();
+
+    // 置換表與節點登記表跨搜尋重複使用；舊搜尋留下的項目 (表中的舊資料或尚未覆寫的登記槽)
+    // 在查詢時以節點的 search 編號排除
+    private final TranspositionTable table = new TranspositionTable(TABLE_BITS);
+    private final AtomicReferenceArray<Node> registry = new AtomicReferenceArray<>(REGISTRY_SIZE);
+    private final AtomicInteger registered = new AtomicInteger();
+    private int searchId; // 在提交 Worker 之前遞增，executor 保證 Worker 看得到新值
+
+    // iterations / timeBudgetMillis 任一用完即停止 (<= 0 代表不限制該項)
+    public MctsBot(int iterations, long timeBudgetMillis, int threads, long seed) {
+        this.iterations = iterations;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.threads = Math.max(1, threads);
+        this.exploration = 0.7;
+        this.executor = this.threads > 1 ? Executors.newFixedThreadPool(this.threads, r -> {
+            Thread thread = new Thread(r, "mcts-worker");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        this.seedSource = new GameRandom(seed);
+    }
+
+    public void shutdown() {
+        if (executor != null)
+            executor.shutdownNow();
+    }
+
+    @Override
+    public int chooseAction(CombatEngine engine) {
+        int action = search(engine);
+        if (action == END_TURN)
+            return END_TURN;
+        return findHandIndex(engine, action);
+    }
+
+    // 回傳最佳動作 (卡牌種類 id 或 END_TURN)
+    public int search(CombatEngine engine) {
+        if (!engine.inCombat || !engine.playerTurn)
+            return END_TURN;
+
+        searchId++;
+        Node root = new Node(0L, searchId);
+        table.newSearch();
+        registered.set(0);
+        long deadline = timeBudgetMillis > 0 ? System.nanoTime() + timeBudgetMillis * 1_000_000L : Long.MAX_VALUE;
+        AtomicLong remaining = new AtomicLong(iterations > 0 ? iterations : Long.MAX_VALUE);
+        long start = System.nanoTime();
+
+        if (executor == null) {
+            new Worker(engine.fork(), root, deadline, remaining, seedSource.nextLong()).run();
+        } else {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(new Worker(engine.fork(), root, deadline, remaining,
+                        seedSource.nextLong())));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (Exception e) {
+                    throw new IllegalStateException("MCTS worker failed", e);
+                }
+            }
+        }
+        totalSearchNanos.addAndGet(System.nanoTime() - start);
+
+        Node best = null;
+        int bestAction = END_TURN;
+        synchronized (root) {
+            for (int i = 0; i < root.children.size(); i++) {
+                Node child = root.children.get(i);
+                if (best == null || child.visits > best.visits) {
+                    best = child;
+                    bestAction = root.childActions[i];
+                }
+            }
+        }
+        return bestAction;
+    }
+
+    public long getTotalRollouts() {
+        return totalRollouts.get();
+    }
+
+    // 展開時直接連到既有節點 (置換) 的次數
+    public long getTotalTranspositions() {
+        return totalTranspositions.get();
+    }
+
+    // 每秒每核心的 rollout 數
+    public double rolloutsPerSecondPerCore() {
+        long nanos = totalSearchNanos.get();
+        return nanos == 0 ? 0 : totalRollouts.get() / (nanos / 1e9) / threads;
+    }
+
+    static int findHandIndex(CombatEngine engine, int definitionId) {
+        CardPiles piles = engine.player.piles;
+        for (int i = 0; i < piles.handCount(); i++) {
+            Card card = piles.handCard(i);
+            if (card.definition.id == definitionId && card.energyCost <= engine.player.energy)
+                return i;
+        }
+        return END_TURN;
+    }
+
+    private static double reward(CombatEngine engine, CombatEngine.Result result) {
+        if (result != CombatEngine.Result.VICTORY)
+            return 0;
+        // 勝利為主，剩餘生命作為次要目標
+        return 0.5 + 0.5 * Math.max(0, engine.player.health) / engine.player.maxHealth;
+    }
+
+    // 合併後一個節點可能有多個父節點，因此動作記在父節點的邊上 (childActions 與 children 一一對應)
+    private static final class Node {
+        final long key; // Zobrist 雜湊；0 代表不參與合併
+        final int search; // 建立此節點的搜尋編號
+        final List<Node> children = new ArrayList<>();
+        int[] childActions = new int[4];
+        int visits;
+        double totalReward;
+
+        Node(long key, int search) {
+            this.key = key;
+            this.search = search;
+        }
+
+        Node child(int action) {
+            for (int i = 0; i < children.size(); i++) {
+                if (childActions[i] == action)
+                    return children.get(i);
+            }
+            return null;
+        }
+
+        void addChild(int action, Node child) {
+            if (childActions.length == children.size())
+                childActions = Arrays.copyOf(childActions, childActions.length * 2);
+            childActions[children.size()] = action;
+            children.add(child);
+        }
+    }
+
+    // 查詢目前搜尋中已登記、雜湊相同的節點；沒有則回傳 null
+    private Node findTransposition(long key) {
+        long data = table.probe(key);
+        if (data == TranspositionTable.MISS)
+            return null;
+        int index = TranspositionTable.value(data);
+        if (index < 0 || index >= registered.get())
+            return null;
+        // 另一條執行緒可能已取得這個索引但還沒寫入，此時讀到的是上一次搜尋的節點
+        Node node = registry.get(index);
+        return node != null && node.search == searchId && node.key == key ? node : null;
+    }
+
+    // 先寫入登記槽，再發佈到置換表，查到表項目時槽位一定已是這個節點
+    private void register(Node node, int depth, int action) {
+        int index = registered.getAndIncrement();
+        if (index >= REGISTRY_SIZE)
+            return; // 登記表已滿：節點照常使用，只是不再與之後的置換合併
+        registry.set(index, node);
+        // 表的替換策略偏好 depth 較大的項目；這裡要保留的是較淺 (造訪較多) 的節點，因此傳入反轉的深度
+        table.store(node.key, index, 255 - Math.min(depth, 255), action, TranspositionTable.BOUND_EXACT);
+    }
+
+    private final class Worker implements Runnable {
+        private final CombatEngine engine;
+        private final Node root;
+        private final long deadline;
+        private final AtomicLong remaining;
+        private final CombatState rootState = new CombatState();
+        private final GameRandom random;
+        private final GreedyPolicy rolloutPolicy = new GreedyPolicy();
+        private final ZobristHasher hasher = new ZobristHasher();
+        private final int[] legal = new int[CardRegistry.size() + 1];
+        private final List<Node> path = new ArrayList<>();
+        private boolean created; // 最近一次 expand() 是否建立了新節點
+
+        Worker(CombatEngine engine, Node root, long deadline, AtomicLong remaining, long seed) {
+            this.engine = engine;
+            this.root = root;
+            this.deadline = deadline;
+            this.remaining = remaining;
+            this.random = new GameRandom(seed);
+            rootState.capture(engine);
+        }
+
+        @Override
+        public void run() {
+            long done = 0;
+            while (remaining.getAndDecrement() > 0) {
+                if ((done & 63) == 0 && System.nanoTime() > deadline)
+                    break;
+                iterate();
+                done++;
+            }
+            totalRollouts.addAndGet(done);
+        }
+
+        private void iterate() {
+            rootState.restore(engine);
+            engine.getRandom().reseed(random.nextLong());
+            engine.player.piles.shuffleDrawPile(engine.getRandom()); // 牌序未知
+
+            // 1. Selection / Expansion
+            Node node = root;
+            CombatEngine.Result result = CombatEngine.Result.ONGOING;
+            boolean expanded = false;
+            boolean rootTurn = true; // 仍在目前回合內 (狀態可合併)
+            path.clear();
+            while (result == CombatEngine.Result.ONGOING && !expanded) {
+                int count = legalActions();
+                Node next = null;
+                int action = END_TURN;
+                boolean applied = false;
+                synchronized (node) {
+                    for (int i = 0; i < count; i++) {
+                        if (node.child(legal[i]) == null) {
+                            action = legal[i];
+                            // 在鎖內套用，才能先得知結果狀態再決定新建或連到既有節點
+                            result = apply(action);
+                            applied = true;
+                            next = expand(action, rootTurn && action != END_TURN, path.size() + 1);
+                            node.addChild(action, next);
+                            expanded = created;
+                            break;
+                        }
+                    }
+                    if (next == null) {
+                        action = selectAction(node, count);
+                        next = node.child(action);
+                    }
+                    next.visits++; // virtual loss：在回傳結果前先算一次造訪
+                }
+                if (!applied)
+                    result = apply(action);
+                if (action == END_TURN)
+                    rootTurn = false;
+                path.add(next);
+                node = next;
+            }
+
+            // 2. Rollout
+            while (result == CombatEngine.Result.ONGOING && engine.turn <= MAX_TURNS) {
+                int action = rolloutPolicy.chooseAction(engine);
+                result = action == END_TURN ? engine.endTurn() : engine.playCard(action, 0);
+                if (result == CombatEngine.Result.INVALID)
+                    result = engine.endTurn();
+            }
+
+            // 3. Backpropagation
+            double value = reward(engine, result);
+            for (int i = 0; i < path.size(); i++) {
+                Node n = path.get(i);
+                synchronized (n) {
+                    n.totalReward += value;
+                }
+            }
+            synchronized (root) {
+                root.visits++;
+            }
+        }
+
+        // 新節點；可合併時先查置換表，找到就改用既有節點
+        private Node expand(int action, boolean mergeable, int depth) {
+            created = true;
+            if (!mergeable)
+                return new Node(0L, searchId);
+            long key = hasher.hash(engine);
+            Node existing = findTransposition(key);
+            if (existing != null) {
+                totalTranspositions.incrementAndGet();
+                created = false;
+                return existing;
+            }
+            Node node = new Node(key, searchId);
+            register(node, depth, action);
+            return node;
+        }
+
+        // UCT；回傳動作 (邊)，合併後的子節點統計包含從其他父節點經過的造訪
+        private int selectAction(Node node, int count) {
+            int best = END_TURN;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            double logVisits = Math.log(Math.max(1, node.visits));
+            for (int i = 0; i < count; i++) {
+                Node child = node.child(legal[i]);
+                double score = child.totalReward / child.visits
+                        + exploration * Math.sqrt(logVisits / child.visits);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = legal[i];
+                }
+            }
+            return best;
+        }
+
+        // 目前狀態下可行的動作 (去除重複種類)，寫入 legal[]
+        private int legalActions() {
+            int count = 0;
+            CardPiles piles = engine.player.piles;
+            for (int i = 0; i < piles.handCount(); i++) {
+                Card card = piles.handCard(i);
+                if (card.energyCost > engine.player.energy)
+                    continue;
+                int id = card.definition.id;
+                boolean seen = false;
+                for (int j = 0; j < count; j++) {
+                    if (legal[j] == id) {
+                        seen = true;
+                        break;
+                    }
+                }
+                if (!seen)
+                    legal[count++] = id;
+            }
+            legal[count++] = END_TURN;
+            return count;
+        }
+
+        private CombatEngine.Result apply(int action) {
+            if (action == END_TURN)
+                return engine.endTurn();
+            int handIndex = findHandIndex(engine, action);
+            if (handIndex == END_TURN)
+                return engine.endTurn();
+            return engine.playCard(handIndex, 0);
+        }
+    }
+
+    // --- 批次評估：以 MCTS 打完整場戰鬥，回報勝率與 rollout 吞吐量 ---
+
+    public static void main(String[] args) {
+        int combats = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int iterationsPerMove = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        MctsBot bot = new MctsBot(iterationsPerMove, 0, threads, 42);
+        GameRandom seeds = new GameRandom(7);
+        List<Card> starterDeck = Card.createStarterDeck();
+
+        for (NodeType type : BalanceSimulator.ENCOUNTERS) {
+            int wins = 0;
+            long hpLost = 0;
+            for (int i = 0; i < combats; i++) {
+                Player player = new Player(GameConstants.PLAYER_MAX_HEALTH);
+                player.piles.setCards(starterDeck);
+                CombatEngine engine = new CombatEngine(player, seeds.split());
+                player.piles.shuffleDrawPile(engine.getRandom());
+                engine.spawnEnemies(type);
+
+                CombatEngine.Result result = engine.start();
+                while (result == CombatEngine.Result.ONGOING && engine.turn <= MAX_TURNS) {
+                    int action = bot.chooseAction(engine);
+                    result = action == END_TURN ? engine.endTurn() : engine.playCard(action, 0);
+                    if (result == CombatEngine.Result.INVALID)
+                        result = engine.endTurn();
+                }
+                if (result == CombatEngine.Result.VICTORY)
+                    wins++;
+                hpLost += player.maxHealth - Math.max(0, player.health);
+            }
+            System.out.println(String.format("%-5s 勝率 %.1f%% | 平均損失生命 %.1f", type, 100.0 * wins / combats,
+                    (double) hpLost / combats));
+        }
+        System.out.println(String.format("rollouts: %,d | %,.0f rollouts/秒/核心 (%d 執行緒) | 置換合併 %,d 次",
+                bot.getTotalRollouts(), bot.rolloutsPerSecondPerCore(), threads, bot.getTotalTranspositions()));
+        bot.shutdown();
+    }
+}
@@ -0,0 +1,376 @@
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+// 以原始型別陣列儲存的粒子池 (投射物、火花、傷害數字)。
+// - 所有欄位預先配置 capacity 筆；存活粒子放在 [0, count)，死亡時以最後一筆補位，穩定狀態下不配置記憶體。
+// - 投射物在產生時算好每步位移與步數 (只在此時開根號)，update() 只做加法。
+// - 每個邏輯步記錄前一位置，draw() 依內插比例繪製，並同時維護所有粒子的包圍框供局部重畫。
+// - 火花直接寫進一張重複使用的 ARGB 圖層再一次貼上，避免數萬次 fillRect。
+// 只供 EDT 使用。
+public final class ParticleSystem {
+    public static final byte PROJECTILE = 0;
+    public static final byte SPARK = 1;
+    public static final byte DAMAGE_NUMBER = 2;
+
+    // 調色盤 (火花與傷害數字共用)
+    public static final int PALETTE_HIT = 0; // 打到敵人
+    public static final int PALETTE_HURT = 1; // 玩家受傷
+    private static final Color[] PALETTE_BASE = { new Color(255, 220, 80), new Color(255, 70, 70) };
+    private static final int FADE_LEVELS = 8;
+    private static final Color[][] PALETTE = new Color[PALETTE_BASE.length][FADE_LEVELS];
+    private static final int[][] PALETTE_ARGB = new int[PALETTE_BASE.length][FADE_LEVELS];
+
+    private static final float SPARK_GRAVITY = 0.35f;
+    private static final float SPARK_DRAG = 0.96f;
+    private static final int SPARK_SIZE = 3;
+    private static final int SPARK_LIFE = 30;
+    private static final int DAMAGE_NUMBER_LIFE = 50;
+    private static final float DAMAGE_NUMBER_RISE = -1.6f;
+    private static final Font DAMAGE_FONT = GameConstants.UI_FONT.deriveFont(Font.BOLD, 26f);
+    private static final int DAMAGE_TEXT_WIDTH = 60;
+    private static final int DAMAGE_TEXT_HEIGHT = 30;
+    private static final String[] DAMAGE_TEXT = new String[1000];
+
+    static {
+        for (int p = 0; p < PALETTE_BASE.length; p++) {
+            Color base = PALETTE_BASE[p];
+            for (int level = 0; level < FADE_LEVELS; level++) {
+                int alpha = 255 * (level + 1) / FADE_LEVELS;
+                PALETTE[p][level] = new Color(base.getRed(), base.getGreen(), base.getBlue(), alpha);
+                PALETTE_ARGB[p][level] = PALETTE[p][level].getRGB();
+            }
+        }
+        for (int i = 0; i < DAMAGE_TEXT.length; i++)
+            DAMAGE_TEXT[i] = "-" + i;
+    }
+
+    private final int capacity;
+    private final GameRandom random;
+    private int count;
+
+    private final byte[] kind;
+    private final float[] x, y, previousX, previousY, vx, vy;
+    private final float[] targetX, targetY;
+    private final int[] life, maxLife;
+    private final int[] value; // 投射物: 精靈編號；火花 / 數字: 調色盤
+    private final int[] amount; // 投射物: 飛行步數 (life 大於此值時仍在等待出發)；數字: 傷害值
+    private final Runnable[] onArrive;
+
+    // 投射物到達的通知 (impactListener 與 onArrive) 都延後到 update() 的走訪結束才執行，
+    // 避免通知中產生新粒子時改動正在走訪的陣列；新粒子因此從下一步才開始移動
+    private final float[] pendingImpactX, pendingImpactY;
+    private final Runnable[] pendingCallbacks;
+    private int pendingCount;
+
+    private ImpactListener impactListener;
+    private SpriteCache.Sprite[] sprites = new SpriteCache.Sprite[4];
+    private int spriteCount;
+
+    // 目前所有粒子 (含前一位置) 的包圍框
+    private final Rectangle bounds = new Rectangle();
+
+    // 火花圖層 (只會變大)
+    private BufferedImage sparkLayer;
+    private int[] sparkPixels;
+
+    // 投射物到達目標時通知 (在 onArrive 之前)，用來產生火花與震動，不需每次攻擊都包一層 lambda
+    public interface ImpactListener {
+        void onImpact(float x, float y);
+    }
+
+    public ParticleSystem(int capacity, GameRandom random) {
+        this.capacity = capacity;
+        this.random = random;
+        kind = new byte[capacity];
+        x = new float[capacity];
+        y = new float[capacity];
+        previousX = new float[capacity];
+        previousY = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        targetX = new float[capacity];
+        targetY = new float[capacity];
+        life = new int[capacity];
+        maxLife = new int[capacity];
+        value = new int[capacity];
+        amount = new int[capacity];
+        onArrive = new Runnable[capacity];
+        pendingImpactX = new float[capacity];
+        pendingImpactY = new float[capacity];
+        pendingCallbacks = new Runnable[capacity];
+    }
+
+    public void setImpactListener(ImpactListener impactListener) {
+        this.impactListener = impactListener;
+    }
+
+    public int registerSprite(SpriteCache.Sprite sprite) {
+        if (spriteCount == sprites.length)
+            sprites = Arrays.copyOf(sprites, spriteCount * 2);
+        sprites[spriteCount] = sprite;
+        return spriteCount++;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    // --- 產生 ---
+
+    // 池滿時不產生投射物，直接執行 onArrive，戰鬥流程不會因此卡住。
+    // delaySteps > 0 時先停在起點 (連發時錯開抵達時間)
+    public void spawnProjectile(float startX, float startY, float toX, float toY, float speed, int spriteId,
+            int delaySteps, Runnable arrive) {
+        if (count == capacity) {
+            if (arrive != null)
+                arrive.run();
+            return;
+        }
+        float dx = toX - startX;
+        float dy = toY - startY;
+        int steps = Math.max(1, (int) Math.ceil(Math.sqrt(dx * dx + dy * dy) / speed));
+        int i = add(PROJECTILE, startX, startY, dx / steps, dy / steps, steps + Math.max(0, delaySteps), spriteId);
+        amount[i] = steps;
+        targetX[i] = toX;
+        targetY[i] = toY;
+        onArrive[i] = arrive;
+    }
+
+    public void spawnSparks(float atX, float atY, int n, int palette, float speed) {
+        for (int k = 0; k < n && count < capacity; k++) {
+            float sx = (float) (random.nextDouble() * 2 - 1) * speed;
+            float sy = (float) (-random.nextDouble() * 1.5 + 0.3) * speed;
+            int lifetime = SPARK_LIFE / 2 + random.nextInt(SPARK_LIFE / 2 + 1);
+            add(SPARK, atX, atY, sx, sy, lifetime, palette);
+        }
+    }
+
+    public void spawnDamageNumber(float atX, float atY, int damage, int palette) {
+        if (count == capacity)
+            return;
+        int i = add(DAMAGE_NUMBER, atX, atY, 0, DAMAGE_NUMBER_RISE, DAMAGE_NUMBER_LIFE, palette);
+        amount[i] = Math.min(Math.max(damage, 0), DAMAGE_TEXT.length - 1);
+    }
+
+    private int add(byte type, float px, float py, float velocityX, float velocityY, int lifetime, int data) {
+        int i = count++;
+        kind[i] = type;
+        x[i] = px;
+        y[i] = py;
+        previousX[i] = px;
+        previousY[i] = py;
+        vx[i] = velocityX;
+        vy[i] = velocityY;
+        life[i] = lifetime;
+        maxLife[i] = lifetime;
+        value[i] = data;
+        onArrive[i] = null;
+        includeBounds(i);
+        return i;
+    }
+
+    // --- 更新 (一個固定邏輯步) ---
+
+    public void update() {
+        bounds.setBounds(0, 0, 0, 0);
+        for (int i = 0; i < count;) {
+            previousX[i] = x[i];
+            previousY[i] = y[i];
+            switch (kind[i]) {
+                case PROJECTILE:
+                    if (life[i] > amount[i])
+                        break; // 尚未出發
+                    x[i] += vx[i];
+                    y[i] += vy[i];
+                    if (life[i] == 1) {
+                        x[i] = targetX[i]; // 消除浮點誤差
+                        y[i] = targetY[i];
+                        pendingImpactX[pendingCount] = x[i];
+                        pendingImpactY[pendingCount] = y[i];
+                        pendingCallbacks[pendingCount++] = onArrive[i];
+                    }
+                    break;
+                case SPARK:
+                    x[i] += vx[i];
+                    y[i] += vy[i];
+                    vy[i] += SPARK_GRAVITY;
+                    vx[i] *= SPARK_DRAG;
+                    break;
+                default: // DAMAGE_NUMBER
+                    y[i] += vy[i];
+                    vy[i] *= 0.95f;
+                    break;
+            }
+            includeBounds(i);
+            if (--life[i] <= 0) {
+                remove(i);
+            } else {
+                i++;
+            }
+        }
+
+        // 每個投射物先通知 impactListener，再執行自己的 onArrive
+        int arrived = pendingCount;
+        pendingCount = 0;
+        for (int k = 0; k < arrived; k++) {
+            if (impactListener != null)
+                impactListener.onImpact(pendingImpactX[k], pendingImpactY[k]);
+            Runnable callback = pendingCallbacks[k];
+            pendingCallbacks[k] = null;
+            if (callback != null)
+                callback.run();
+        }
+    }
+
+    private void remove(int i) {
+        int last = --count;
+        if (i != last) {
+            kind[i] = kind[last];
+            x[i] = x[last];
+            y[i] = y[last];
+            previousX[i] = previousX[last];
+            previousY[i] = previousY[last];
+            vx[i] = vx[last];
+            vy[i] = vy[last];
+            targetX[i] = targetX[last];
+            targetY[i] = targetY[last];
+            life[i] = life[last];
+            maxLife[i] = maxLife[last];
+            value[i] = value[last];
+            amount[i] = amount[last];
+            onArrive[i] = onArrive[last];
+        }
+        onArrive[last] = null;
+    }
+
+    public void clear() {
+        for (int i = 0; i < count; i++)
+            onArrive[i] = null;
+        count = 0;
+        bounds.setBounds(0, 0, 0, 0);
+    }
+
+    // --- 包圍框 ---
+
+    private void includeBounds(int i) {
+        int halfW;
+        int halfH;
+        switch (kind[i]) {
+            case PROJECTILE:
+                SpriteCache.Sprite sprite = sprites[value[i]];
+                halfW = sprite.width / 2 + 1;
+                halfH = sprite.height / 2 + 1;
+                break;
+            case SPARK:
+                halfW = SPARK_SIZE;
+                halfH = SPARK_SIZE;
+                break;
+            default:
+                halfW = DAMAGE_TEXT_WIDTH;
+                halfH = DAMAGE_TEXT_HEIGHT;
+                break;
+        }
+        int minX = (int) Math.min(x[i], previousX[i]) - halfW;
+        int minY = (int) Math.min(y[i], previousY[i]) - halfH;
+        int maxX = (int) Math.max(x[i], previousX[i]) + halfW;
+        int maxY = (int) Math.max(y[i], previousY[i]) + halfH;
+        if (bounds.isEmpty()) {
+            bounds.setBounds(minX, minY, maxX - minX, maxY - minY);
+        } else {
+            int bx = Math.min(bounds.x, minX);
+            int by = Math.min(bounds.y, minY);
+            bounds.setBounds(bx, by, Math.max(bounds.x + bounds.width, maxX) - bx,
+                    Math.max(bounds.y + bounds.height, maxY) - by);
+        }
+    }
+
+    // 回傳內部的包圍框 (唯讀使用)
+    public Rectangle getBounds() {
+        return bounds;
+    }
+
+    // --- 繪製 ---
+
+    public void draw(Graphics2D g2d, float alpha) {
+        if (count == 0)
+            return;
+        drawSparks(g2d, alpha);
+        g2d.setFont(DAMAGE_FONT);
+        for (int i = 0; i < count; i++) {
+            if (kind[i] == SPARK)
+                continue;
+            int drawX = (int) (previousX[i] + (x[i] - previousX[i]) * alpha);
+            int drawY = (int) (previousY[i] + (y[i] - previousY[i]) * alpha);
+            switch (kind[i]) {
+                case PROJECTILE:
+                    if (life[i] > amount[i])
+                        break;
+                    SpriteCache.Sprite sprite = sprites[value[i]];
+                    sprite.draw(g2d, drawX - sprite.width / 2, drawY - sprite.height / 2);
+                    break;
+                default:
+                    g2d.setColor(PALETTE[value[i]][fadeLevel(i)]);
+                    g2d.drawString(DAMAGE_TEXT[amount[i]], drawX - DAMAGE_TEXT_WIDTH / 4, drawY);
+                    break;
+            }
+        }
+    }
+
+    private int fadeLevel(int i) {
+        return Math.min(FADE_LEVELS - 1, life[i] * FADE_LEVELS / (maxLife[i] + 1));
+    }
+
+    private void drawSparks(Graphics2D g2d, float alpha) {
+        // 第一次走訪: 求火花的繪製範圍
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            if (kind[i] != SPARK)
+                continue;
+            int drawX = (int) (previousX[i] + (x[i] - previousX[i]) * alpha);
+            int drawY = (int) (previousY[i] + (y[i] - previousY[i]) * alpha);
+            minX = Math.min(minX, drawX);
+            minY = Math.min(minY, drawY);
+            maxX = Math.max(maxX, drawX);
+            maxY = Math.max(maxY, drawY);
+        }
+        if (minX > maxX)
+            return;
+        minX -= 1;
+        minY -= 1;
+        int width = maxX - minX + SPARK_SIZE;
+        int height = maxY - minY + SPARK_SIZE;
+        if (sparkLayer == null || sparkLayer.getWidth() < width || sparkLayer.getHeight() < height) {
+            sparkLayer = new BufferedImage(Math.max(width, sparkLayer == null ? 0 : sparkLayer.getWidth()),
+                    Math.max(height, sparkLayer == null ? 0 : sparkLayer.getHeight()), BufferedImage.TYPE_INT_ARGB);
+            sparkPixels = ((DataBufferInt) sparkLayer.getRaster().getDataBuffer()).getData();
+        }
+        int stride = sparkLayer.getWidth();
+        for (int row = 0; row < height; row++)
+            Arrays.fill(sparkPixels, row * stride, row * stride + width, 0);
+
+        // 第二次走訪: 直接寫入像素 (重疊時後者覆蓋)
+        for (int i = 0; i < count; i++) {
+            if (kind[i] != SPARK)
+                continue;
+            int px = (int) (previousX[i] + (x[i] - previousX[i]) * alpha) - 1 - minX;
+            int py = (int) (previousY[i] + (y[i] - previousY[i]) * alpha) - 1 - minY;
+            int argb = PALETTE_ARGB[value[i]][fadeLevel(i)];
+            for (int dy = 0; dy < SPARK_SIZE; dy++) {
+                int offset = (py + dy) * stride + px;
+                for (int dx = 0; dx < SPARK_SIZE; dx++)
+                    sparkPixels[offset + dx] = argb;
+            }
+        }
+        g2d.drawImage(sparkLayer, minX, minY, minX + width, minY + height, 0, 0, width, height, null);
+    }
+}
@@ -1,4 +1,3 @@
-import java.util.ArrayList;
 import java.util.List;
 
 public class Player {
@@ -7,17 +6,19 @@ public class Player {
     public int energy;
     public int maxEnergy = GameConstants.PLAYER_MAX_ENERGY;
     public int block = 0;
-    public List<Card> deck;
-    public List<Card> hand;
-    public List<Card> discardPile;
+    public final CardPiles piles;
+    public final List<Card> deck;
+    public final List<Card> hand;
+    public final List<Card> discardPile;
     public int gold = 0;
 
     public Player(int maxHealth) {
         this.maxHealth = maxHealth;
         this.health = maxHealth;
-        this.deck = new ArrayList<>();
-        this.hand = new ArrayList<>();
-        this.discardPile = new ArrayList<>();
+        this.piles = new CardPiles();
+        this.deck = piles.deck();
+        this.hand = piles.hand();
+        this.discardPile = piles.discardPile();
         this.gold = GameConstants.PLAYER_INITIAL_GOLD; // 給予初始金幣
     }
 }
@@ -0,0 +1,213 @@
+import java.awt.Frame;
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleConsumer;
+
+// 依需求排程的動畫計時器，取代固定 60 Hz 的全畫面重畫。
+// - 只有在 animating 回報有動畫時才 tick；動畫結束後自動停止，靜止畫面由狀態改變時的 repaint() 更新。
+// - 固定時間步長：每次 tick 依實際經過時間累積，以 STEP_NANOS 為單位執行邏輯 (落後時補跑，最多
+//   MAX_STEPS_PER_TICK 步)，再以剩餘比例 alpha 呼叫 render，讓畫面在前後兩個邏輯狀態間內插。
+//   計時器抖動或某幀變慢只影響畫面更新頻率，不影響動畫速度與結果。
+// - 視窗失去焦點時降為 UNFOCUSED_DELAY 重畫一次；最小化時完全停止。
+//
+// -Dgame.frameStats=true：每段動畫結束時印出幀時間統計。
+public class RepaintScheduler {
+    public static final int ACTIVE_DELAY = 16;
+    public static final int UNFOCUSED_DELAY = 100;
+    public static final long STEP_NANOS = 1_000_000_000L / 60;
+    private static final int MAX_STEPS_PER_TICK = 10;
+    private static final boolean REPORT_FRAME_STATS = Boolean.getBoolean("game.frameStats");
+
+    private final Runnable logic;
+    private final DoubleConsumer render;
+    private final BooleanSupplier animating;
+    private final javax.swing.Timer timer;
+    private final FrameStats stats = new FrameStats();
+    private boolean focused = true;
+    private boolean iconified = false;
+    private long lastTickNanos;
+    private long accumulator;
+
+    // render 收到 0..1 的內插比例，負責重畫變動的區域
+    public RepaintScheduler(Runnable logic, DoubleConsumer render, BooleanSupplier animating) {
+        this.logic = logic;
+        this.render = render;
+        this.animating = animating;
+        this.timer = new javax.swing.Timer(ACTIVE_DELAY, e -> tick());
+        this.timer.setCoalesce(true);
+    }
+
+    public void attach(Window window) {
+        WindowAdapter listener = new WindowAdapter() {
+            @Override
+            public void windowGainedFocus(WindowEvent e) {
+                focused = true;
+                updateRate();
+            }
+
+            @Override
+            public void windowLostFocus(WindowEvent e) {
+                focused = false;
+                updateRate();
+            }
+
+            @Override
+            public void windowIconified(WindowEvent e) {
+                iconified = true;
+                timer.stop();
+            }
+
+            @Override
+            public void windowDeiconified(WindowEvent e) {
+                iconified = false;
+                wake();
+            }
+        };
+        window.addWindowListener(listener);
+        window.addWindowFocusListener(listener);
+        if (window instanceof Frame)
+            iconified = (((Frame) window).getExtendedState() & Frame.ICONIFIED) != 0;
+    }
+
+    // 有新動畫開始時呼叫
+    public void wake() {
+        if (!iconified && !timer.isRunning() && animating.getAsBoolean()) {
+            lastTickNanos = System.nanoTime();
+            accumulator = 0;
+            timer.start();
+        }
+    }
+
+    public boolean isRunning() {
+        return timer.isRunning();
+    }
+
+    public FrameStats getFrameStats() {
+        return stats;
+    }
+
+    private void updateRate() {
+        int delay = focused ? ACTIVE_DELAY : UNFOCUSED_DELAY;
+        timer.setDelay(delay);
+        timer.setInitialDelay(delay);
+    }
+
+    private void tick() {
+        if (iconified) {
+            timer.stop();
+            return;
+        }
+        long now = System.nanoTime();
+        long frameNanos = now - lastTickNanos;
+        lastTickNanos = now;
+        accumulator += frameNanos;
+
+        int steps = 0;
+        while (accumulator >= STEP_NANOS && animating.getAsBoolean()) {
+            logic.run();
+            accumulator -= STEP_NANOS;
+            if (++steps == MAX_STEPS_PER_TICK && accumulator >= STEP_NANOS) {
+                stats.droppedNanos += accumulator; // 落後太多：放棄補跑，避免越補越慢
+                accumulator = 0;
+            }
+        }
+        stats.record(frameNanos, steps);
+
+        boolean stillAnimating = animating.getAsBoolean();
+        render.accept(stillAnimating ? (double) accumulator / STEP_NANOS : 1.0);
+        if (!stillAnimating) {
+            timer.stop();
+            if (REPORT_FRAME_STATS)
+                System.out.println(stats);
+            stats.reset();
+        }
+    }
+
+    // 最近 SAMPLES 幀的幀時間與邏輯步數統計，另外記錄輸入延遲 (按下滑鼠到畫面更新)
+    public static final class FrameStats {
+        private static final int SAMPLES = 256;
+        private final long[] frameNanos = new long[SAMPLES];
+        private int count;
+        private long frames;
+        private long steps;
+        private long droppedNanos;
+        private long latencyCount;
+        private long latencySumNanos;
+        private long latencyMaxNanos;
+        private long handoffCount;
+        private long handoffSumNanos;
+        private long handoffMaxNanos;
+
+        void record(long nanos, int logicSteps) {
+            frameNanos[(int) (frames % SAMPLES)] = nanos;
+            frames++;
+            count = (int) Math.min(frames, SAMPLES);
+            steps += logicSteps;
+        }
+
+        void recordLatency(long nanos) {
+            latencyCount++;
+            latencySumNanos += nanos;
+            latencyMaxNanos = Math.max(latencyMaxNanos, nanos);
+        }
+
+        // 主動繪製模式：每幀交給 EDT 執行並等待結果所額外花費的時間 (排隊 + 執行緒切換)
+        void recordHandoff(long nanos) {
+            handoffCount++;
+            handoffSumNanos += nanos;
+            handoffMaxNanos = Math.max(handoffMaxNanos, nanos);
+        }
+
+        void reset() {
+            count = 0;
+            frames = 0;
+            steps = 0;
+            droppedNanos = 0;
+            latencyCount = 0;
+            latencySumNanos = 0;
+            latencyMaxNanos = 0;
+            handoffCount = 0;
+            handoffSumNanos = 0;
+            handoffMaxNanos = 0;
+        }
+
+        public long frameCount() {
+            return frames;
+        }
+
+        public double percentileMillis(double p) {
+            if (count == 0)
+                return 0;
+            long[] sorted = Arrays.copyOf(frameNanos, count);
+            Arrays.sort(sorted);
+            return sorted[Math.min(count - 1, (int) Math.ceil(p * count) - 1)] / 1e6;
+        }
+
+        public double meanMillis() {
+            long sum = 0;
+            for (int i = 0; i < count; i++)
+                sum += frameNanos[i];
+            return count == 0 ? 0 : sum / 1e6 / count;
+        }
+
+        @Override
+        public String toString() {
+            String text = String.format(
+                    "幀時間: %d 幀 / %d 邏輯步 | 平均 %.2f ms p50 %.2f ms p95 %.2f ms 最大 %.2f ms | 丟棄 %.1f ms", frames,
+                    steps, meanMillis(), percentileMillis(0.5), percentileMillis(0.95), percentileMillis(1.0),
+                    droppedNanos / 1e6);
+            if (latencyCount > 0) {
+                text += String.format(" | 輸入延遲 %d 次 平均 %.2f ms 最大 %.2f ms", latencyCount,
+                        latencySumNanos / 1e6 / latencyCount, latencyMaxNanos / 1e6);
+            }
+            if (handoffCount > 0) {
+                text += String.format(" | EDT 交接 平均 %.2f ms 最大 %.2f ms", handoffSumNanos / 1e6 / handoffCount,
+                        handoffMaxNanos / 1e6);
+            }
+            return text;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+// 路線分析：在地圖 (有向無環圖) 上以動態規劃計算「從某節點走到首領」的各項統計，
+// 包含路徑數、沿途各類型節點的最少 / 最多數量，以及依各類型估計價值得出的期望值與最佳值。
+// 連線只會往編號較大的節點走，所以節點 i 的結果只依賴它的下一層，依編號由大到小計算即可。
+// 結果與目前位置無關，第一次查詢時只計算查詢節點之後的那一段並記住；
+// 玩家只會往上走，之後的查詢都落在已算過的範圍內，移動時不必重算。
+// 只供 EDT 使用。
+public final class RouteAnalyzer {
+    private static final NodeType[] TYPES = NodeType.values();
+
+    private final MapGraph graph;
+    private final double[] values = new double[TYPES.length]; // 以 NodeType.ordinal() 索引
+    private final long[] pathCount;
+    private final int[][] minCount; // [類型][節點]，包含節點本身
+    private final int[][] maxCount;
+    private final double[] expectedValue; // 每一步從下一層平均隨機選擇
+    private final double[] bestValue;
+    private int computedFrom; // 編號 >= computedFrom 的節點都已計算
+
+    public RouteAnalyzer(MapGraph graph) {
+        this.graph = graph;
+        int n = graph.nodeCount();
+        pathCount = new long[n];
+        minCount = new int[TYPES.length][n];
+        maxCount = new int[TYPES.length][n];
+        expectedValue = new double[n];
+        bestValue = new double[n];
+        computedFrom = n;
+        values[NodeType.ENEMY.ordinal()] = GameConstants.ROUTE_VALUE_ENEMY;
+        values[NodeType.ELITE.ordinal()] = GameConstants.ROUTE_VALUE_ELITE;
+        values[NodeType.SHOP.ordinal()] = GameConstants.ROUTE_VALUE_SHOP;
+        values[NodeType.TREASURE.ordinal()] = GameConstants.ROUTE_VALUE_TREASURE;
+        values[NodeType.REST.ordinal()] = GameConstants.ROUTE_VALUE_REST;
+    }
+
+    // 更改估計價值後，已記住的結果全部作廢
+    public void setValue(NodeType type, double value) {
+        values[type.ordinal()] = value;
+        computedFrom = graph.nodeCount();
+    }
+
+    // 到首領的不同路徑數 (超過 long 範圍時停在 Long.MAX_VALUE)
+    public long pathCount(int node) {
+        ensure(node);
+        return pathCount[node];
+    }
+
+    public int minCount(int node, NodeType type) {
+        ensure(node);
+        return minCount[type.ordinal()][node];
+    }
+
+    public int maxCount(int node, NodeType type) {
+        ensure(node);
+        return maxCount[type.ordinal()][node];
+    }
+
+    public double expectedValue(int node) {
+        ensure(node);
+        return expectedValue[node];
+    }
+
+    public double bestValue(int node) {
+        ensure(node);
+        return bestValue[node];
+    }
+
+    private void ensure(int node) {
+        for (int i = computedFrom - 1; i >= node; i--)
+            compute(i);
+        if (node < computedFrom)
+            computedFrom = node;
+    }
+
+    private void compute(int node) {
+        int type = graph.type(node).ordinal();
+        int first = graph.edgeStart(node);
+        int end = graph.edgeEnd(node);
+        if (first == end) { // 首領
+            pathCount[node] = 1;
+            for (int t = 0; t < TYPES.length; t++) {
+                minCount[t][node] = t == type ? 1 : 0;
+                maxCount[t][node] = minCount[t][node];
+            }
+            expectedValue[node] = values[type];
+            bestValue[node] = values[type];
+            return;
+        }
+
+        long paths = 0;
+        double expected = 0;
+        double best = Double.NEGATIVE_INFINITY;
+        for (int t = 0; t < TYPES.length; t++) {
+            minCount[t][node] = Integer.MAX_VALUE;
+            maxCount[t][node] = 0;
+        }
+        for (int e = first; e < end; e++) {
+            int next = graph.edgeTarget(e);
+            paths = paths > Long.MAX_VALUE - pathCount[next] ? Long.MAX_VALUE : paths + pathCount[next];
+            expected += expectedValue[next];
+            best = Math.max(best, bestValue[next]);
+            for (int t = 0; t < TYPES.length; t++) {
+                minCount[t][node] = Math.min(minCount[t][node], minCount[t][next]);
+                maxCount[t][node] = Math.max(maxCount[t][node], maxCount[t][next]);
+            }
+        }
+        minCount[type][node]++;
+        maxCount[type][node]++;
+        pathCount[node] = paths;
+        expectedValue[node] = values[type] + expected / (end - first);
+        bestValue[node] = values[type] + best;
+    }
+}
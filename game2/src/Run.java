@@ -2,11 +2,7 @@ import java.awt.*;
 import java.awt.event.*;
 import java.util.*;
 import java.util.List;
-import java.util.stream.Collectors;
 import javax.swing.*;
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
 
 public class Run extends JFrame implements GameLogger {
 
@@ -31,50 +27,55 @@ public class Run extends JFrame implements GameLogger {
     private MapManager mapManager;
     private CombatManager combatManager;
     private EventManager eventManager;
+    private GameRandom shuffleRandom;
+    private final GameEventBuffer eventBuffer = new GameEventBuffer(GameConstants.EVENT_BUFFER_CAPACITY);
 
     // --------------------------------------------------
     // UI 元件 (View)
     // --------------------------------------------------
     private JTextArea logArea;
     private GamePanel gamePanel;
+    private RepaintScheduler repaintScheduler;
+    private ActiveRenderer activeRenderer; // -Dgame.activeRendering=true 時取代 GamePanel 的 Swing 繪製
     private JLabel playerHpLabel;
     private JLabel energyLabel;
     private JLabel pileStatusLabel;
-    private JPanel handPanel;
+    private JLabel routeLabel; // 從目前節點出發的路線摘要 (RouteAnalyzer)
+    private int routeVersion = -1;
+    private HandDisplay handDisplay;
     private JButton endTurnButton;
+    private JToggleButton autoPlayButton;
+
+    // 自動戰鬥 (MCTS)
+    private MctsBot autoPlayBot;
+    private javax.swing.Timer autoPlayTimer;
+    private boolean autoPlayThinking = false;
 
     // --------------------------------------------------
     // 構造函數與初始化
     // --------------------------------------------------
 
-    private Map<String, Image> cardImages = new HashMap<>();
+    private final Image[] cardImages = new Image[CardRegistry.size()]; // 以 CardDefinition.id 索引
+    private long startupNanos, firstFrameNanos, assetsReadyNanos;
+    private final CardFaceCache cardFaces = new CardFaceCache(GameConstants.CARD_FACE_CACHE_CAPACITY);
 
     private void loadCardImages() {
         try {
-            loadCardImage("打擊", GameConstants.RES_CARD_ATTACK_6);
-            loadCardImage("防禦", GameConstants.RES_CARD_DEFENSE_5);
-            loadCardImage("重擊", GameConstants.RES_CARD_ATTACK_15);
-            loadCardImage("治療術", GameConstants.RES_CARD_HEAL);
-            loadCardImage("狂暴", GameConstants.RES_CARD_ATTACK_20);
-            loadCardImage("壁壘", GameConstants.RES_CARD_DEFENSE_12);
-            loadCardImage("能量爆發", GameConstants.RES_CARD_BUFF);
-            loadCardImage("重打", GameConstants.RES_CARD_ATTACK_9);
+            for (CardDefinition definition : CardRegistry.all()) {
+                if (definition.imagePath != null)
+                    loadCardImage(definition, definition.imagePath);
+            }
         } catch (Exception e) {
             System.err.println("Error loading card images: " + e.getMessage());
         }
     }
 
-    private void loadCardImage(String cardName, String path) {
-        try {
-            java.net.URL url = getClass().getClassLoader().getResource(path);
-            if (url != null) {
-                cardImages.put(cardName, ImageIO.read(url));
-            } else {
-                System.err.println("Could not find card image: " + path);
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    // 卡圖在背景載入；到達前手牌顯示純文字按鈕
+    private void loadCardImage(CardDefinition definition, String path) {
+        SpriteAtlas.getShared().request(path, image -> {
+            cardImages[definition.id] = image;
+            updateHandPanel();
+        });
     }
 
     public Run() {
@@ -88,22 +89,31 @@ public class Run extends JFrame implements GameLogger {
         playerHpLabel = new JLabel();
         energyLabel = new JLabel();
         pileStatusLabel = new JLabel();
+        routeLabel = new JLabel();
 
         endTurnButton = new JButton("結束回合");
         endTurnButton.setFont(GameConstants.UI_FONT.deriveFont(java.awt.Font.BOLD, 18));
         endTurnButton.setPreferredSize(new Dimension(SIDE_PANEL_WIDTH - 20, 50));
         endTurnButton.addActionListener(e -> {
-            if (combatManager.inCombat && combatManager.playerTurn) {
+            if (combatManager.isInCombat() && combatManager.isPlayerTurn()) {
                 combatManager.endPlayerTurn();
                 updateUIStatus();
                 updateHandPanel();
             }
         });
 
-        // 設置遊戲數據與管理器
+        autoPlayButton = new JToggleButton("自動戰鬥");
+        autoPlayButton.setFont(GameConstants.UI_FONT);
+        autoPlayButton.setPreferredSize(new Dimension(SIDE_PANEL_WIDTH - 20, 30));
+        autoPlayButton.addActionListener(e -> setAutoPlay(autoPlayButton.isSelected()));
+
+        // 設置遊戲數據與管理器 (整局只用一個種子，可用 -Dgame.seed=... 重現)
+        long seed = Long.getLong("game.seed", System.nanoTime());
+        GameRandom random = new GameRandom(seed);
+        shuffleRandom = random.stream(GameRandom.Stream.SHUFFLE);
         player = new Player(GameConstants.PLAYER_MAX_HEALTH);
-        mapManager = new MapManager(this);
-        combatManager = new CombatManager(player, this, this::onCombatUpdate,
+        mapManager = new MapManager(this, random.stream(GameRandom.Stream.MAP));
+        combatManager = new CombatManager(player, shuffleRandom, eventBuffer, this::onCombatUpdate,
                 (isStrong, callback) -> {
                     gamePanel.spawnAttackEffect(isStrong, callback);
                 },
@@ -122,7 +132,10 @@ public class Run extends JFrame implements GameLogger {
             }
         };
 
-        eventManager = new EventManager(this);
+        eventManager = new EventManager(eventBuffer, random.stream(GameRandom.Stream.LOOT));
+        autoPlayBot = new MctsBot(0, GameConstants.AUTO_PLAY_THINK_MILLIS,
+                Runtime.getRuntime().availableProcessors(), seed);
+        autoPlayTimer = new javax.swing.Timer(GameConstants.AUTO_PLAY_STEP_MILLIS, e -> autoPlayStep());
 
         initializeCards();
         loadCardImages();
@@ -134,13 +147,28 @@ public class Run extends JFrame implements GameLogger {
         setLayout(new BorderLayout());
 
         // 遊戲面板 (CENTER)
-        gamePanel = new GamePanel(player, mapManager, combatManager);
-        gamePanel.setPreferredSize(new Dimension(WINDOW_WIDTH - SIDE_PANEL_WIDTH, WINDOW_HEIGHT - HAND_PANEL_HEIGHT));
-        gamePanel.addMouseListener(new MapMouseListener()); // 地圖導航監聽
-        add(gamePanel, BorderLayout.CENTER);
+        gamePanel = new GamePanel(player, mapManager, combatManager, random.stream(GameRandom.Stream.VISUAL));
+        Dimension viewSize = new Dimension(WINDOW_WIDTH - SIDE_PANEL_WIDTH, WINDOW_HEIGHT - HAND_PANEL_HEIGHT);
+        if (Boolean.getBoolean("game.activeRendering")) {
+            activeRenderer = new ActiveRenderer(gamePanel);
+            activeRenderer.getCanvas().setPreferredSize(viewSize);
+            activeRenderer.getCanvas().addMouseListener(new MapMouseListener());
+            add(activeRenderer.getCanvas(), BorderLayout.CENTER);
+        } else {
+            gamePanel.setPreferredSize(viewSize);
+            gamePanel.addMouseListener(new MapMouseListener()); // 地圖導航監聽
+            add(gamePanel, BorderLayout.CENTER);
+        }
 
         // 底部手牌/行動面板 (SOUTH)
-        handPanel = new JPanel();
+        // 預設為單一自繪元件；-Dgame.buttonHand=true 時改回每張牌一個按鈕
+        java.util.function.Consumer<Card> playCard = card -> {
+            Enemy target = combatManager.enemies.isEmpty() ? null : combatManager.enemies.get(0);
+            combatManager.playCard(card, target);
+        };
+        handDisplay = Boolean.getBoolean("game.buttonHand") ? new HandView(cardImages, cardFaces, playCard)
+                : new HandComponent(cardImages, cardFaces, playCard);
+        JComponent handPanel = handDisplay.getComponent();
         handPanel.setPreferredSize(new Dimension(WINDOW_WIDTH - SIDE_PANEL_WIDTH, HAND_PANEL_HEIGHT));
         handPanel.setBackground(new Color(20, 20, 40));
         add(handPanel, BorderLayout.SOUTH);
@@ -149,21 +177,39 @@ public class Run extends JFrame implements GameLogger {
         JPanel sidePanel = createSidePanel();
         add(sidePanel, BorderLayout.EAST);
 
-        // 遊戲定時器 (修復 Timer 歧義錯誤：使用 javax.swing.Timer)
-        // Update game loop to tick logic
-        new javax.swing.Timer(16, e -> {
-            gamePanel.updateLogic();
-            gamePanel.repaint();
-        }).start();
+        // 動畫計時器：只在有動畫時 tick，並只重畫變動區域 (主動繪製模式由繪製執行緒自己驅動)
+        if (activeRenderer == null) {
+            repaintScheduler = new RepaintScheduler(gamePanel::updateLogic, gamePanel::render,
+                    gamePanel::isAnimating);
+            repaintScheduler.attach(this);
+            gamePanel.setAnimationListener(repaintScheduler::wake);
+        }
 
         // 初始狀態：在地圖模式
         endTurnButton.setVisible(false); // 隱藏戰鬥按鈕
+        autoPlayButton.setVisible(false);
+        logMessage("亂數種子: " + seed);
         logMessage("遊戲開始! 您有 " + GameConstants.PLAYER_INITIAL_GOLD + " 金幣。請點擊 [START] 節點開始旅程...");
         updateUIStatus();
 
+        // -Dgame.fullscreen=true：整個視窗進入全螢幕獨佔模式 (裝置不支援時維持視窗模式)
+        GraphicsDevice device = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+        boolean fullScreen = Boolean.getBoolean("game.fullscreen");
+        if (fullScreen && !device.isFullScreenSupported()) {
+            logMessage("此螢幕不支援全螢幕獨佔模式。");
+            fullScreen = false;
+        }
+        if (fullScreen)
+            setUndecorated(true); // 必須在 pack() 之前
+
         pack();
         setResizable(false);
-        setVisible(true);
+        if (fullScreen)
+            device.setFullScreenWindow(this);
+        else
+            setVisible(true);
+        if (activeRenderer != null)
+            activeRenderer.start();
     }
 
     // --------------------------------------------------
@@ -175,33 +221,91 @@ public class Run extends JFrame implements GameLogger {
     }
 
     private void logMessage(String message) {
+        drainEvents(); // 先輸出較早發生的事件，保持順序
+        appendLine(message);
+    }
+
+    // 戰鬥 / 事件只記錄結構化事件，到這裡才轉成文字
+    private void drainEvents() {
+        if (eventBuffer.size() == 0)
+            return;
+        eventBuffer.drain(eventConsumer);
+    }
+
+    // 日誌文字之外，傷害類事件也轉給畫面產生傷害數字
+    private final GameEventSink eventConsumer = (type, subject, a, b) -> {
+        appendLine(type.render(subject, a, b));
+        if (gamePanel != null)
+            gamePanel.onGameEvent(type, subject, a, b);
+    };
+
+    private void appendLine(String message) {
         logArea.append(message + "\n");
         logArea.setCaretPosition(logArea.getDocument().getLength());
     }
 
     private void onCombatUpdate() {
-        endTurnButton.setVisible(combatManager.inCombat);
-        endTurnButton.setEnabled(combatManager.playerTurn);
+        endTurnButton.setVisible(combatManager.isInCombat());
+        endTurnButton.setEnabled(combatManager.isPlayerTurn());
+        autoPlayButton.setVisible(combatManager.isInCombat());
         updateUIStatus();
         updateHandPanel();
         gamePanel.repaint();
     }
 
-    private void initializeCards() {
-        for (int i = 0; i < 8; i++) {
-            player.deck.add(new Card("打擊", "造成 " + GameConstants.STRIKE_DAMAGE + " 點傷害", GameConstants.STRIKE_COST,
-                    GameConstants.STRIKE_DAMAGE, CardType.ATTACK));
-        }
-        for (int i = 0; i < 4; i++) {
-            player.deck.add(new Card("防禦", "獲得 " + GameConstants.DEFEND_BLOCK + " 點防禦", GameConstants.DEFEND_COST,
-                    GameConstants.DEFEND_BLOCK, CardType.SKILL));
+    // --- 自動戰鬥 ---
+
+    private void setAutoPlay(boolean enabled) {
+        if (enabled) {
+            autoPlayTimer.start();
+        } else {
+            autoPlayTimer.stop();
+            logMessage(String.format("自動戰鬥關閉 (%,d 次模擬, %,.0f rollouts/秒/核心)",
+                    autoPlayBot.getTotalRollouts(), autoPlayBot.rolloutsPerSecondPerCore()));
         }
-        player.deck.add(new Card("重擊", "造成 " + GameConstants.HEAVY_STRIKE_DAMAGE + " 點傷害",
-                GameConstants.HEAVY_STRIKE_COST, GameConstants.HEAVY_STRIKE_DAMAGE, CardType.ATTACK));
-        player.deck.add(new Card("治療術", "恢復 " + GameConstants.HEAL_AMOUNT + " 點生命", GameConstants.HEAL_COST,
-                GameConstants.HEAL_AMOUNT, CardType.SKILL));
+    }
+
+    private void autoPlayStep() {
+        if (autoPlayThinking || !combatManager.isInCombat() || !combatManager.isPlayerTurn()
+                || !combatManager.isIdle())
+            return;
+
+        autoPlayThinking = true;
+        CombatEngine searchRoot = combatManager.getEngine().fork(); // 在 EDT 上複製，背景執行緒只讀副本
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() {
+                return autoPlayBot.search(searchRoot);
+            }
 
-        Collections.shuffle(player.deck);
+            @Override
+            protected void done() {
+                autoPlayThinking = false;
+                int action;
+                try {
+                    action = get();
+                } catch (Exception ex) {
+                    logMessage("自動戰鬥失敗: " + ex.getMessage());
+                    return;
+                }
+                if (!autoPlayButton.isSelected() || !combatManager.isPlayerTurn() || !combatManager.isIdle())
+                    return;
+
+                int handIndex = action == CombatPolicy.END_TURN ? CombatPolicy.END_TURN
+                        : MctsBot.findHandIndex(combatManager.getEngine(), action);
+                if (handIndex == CombatPolicy.END_TURN) {
+                    combatManager.endPlayerTurn();
+                } else {
+                    Enemy target = combatManager.enemies.isEmpty() ? null : combatManager.enemies.get(0);
+                    combatManager.playCard(player.hand.get(handIndex), target);
+                }
+            }
+        }.execute();
+    }
+
+    private void initializeCards() {
+        player.piles.setCards(Card.createStarterDeck());
+        player.piles.shuffleDrawPile(shuffleRandom);
     }
 
     // --- 地圖與導航邏輯 ---
@@ -209,9 +313,9 @@ public class Run extends JFrame implements GameLogger {
     private class MapMouseListener extends MouseAdapter {
         @Override
         public void mouseClicked(MouseEvent e) {
-            if (!combatManager.inCombat && !combatManager.playerTurn) {
-                MapNode clickedNode = mapManager.handleMapClick(e.getX(), e.getY(), gamePanel.getWidth(),
-                        gamePanel.getHeight());
+            if (!combatManager.isInCombat() && !combatManager.isPlayerTurn()) {
+                MapNode clickedNode = mapManager.handleMapClick(e.getX(), e.getY(), e.getComponent().getWidth(),
+                        e.getComponent().getHeight());
                 if (clickedNode != null) {
                     processNodeEvent(clickedNode);
                 }
@@ -240,14 +344,49 @@ public class Run extends JFrame implements GameLogger {
     // --------------------------------------------------
 
     private void updateUIStatus() {
+        drainEvents();
         playerHpLabel.setText("HP: " + player.health + " / " + player.maxHealth
                 + (player.block > 0 ? " (防禦: " + player.block + ")" : ""));
         energyLabel.setText("費用: " + player.energy + " / " + player.maxEnergy);
         pileStatusLabel.setText("金幣: " + player.gold + " | 牌組: " + player.deck.size() + " 張 | 棄牌堆: "
                 + player.discardPile.size() + " 張");
+        updateRouteLabel();
+    }
+
+    // 只在地圖位置改變時更新；RouteAnalyzer 已記住各節點的結果，這裡只組字串
+    private void updateRouteLabel() {
+        if (routeVersion == mapManager.getVersion())
+            return;
+        routeVersion = mapManager.getVersion();
+        MapGraph graph = mapManager.getGraph();
+        RouteAnalyzer routes = mapManager.getRoutes();
+        int current = mapManager.currentNode.id;
+        if (current == graph.boss()) {
+            routeLabel.setText("路線: 已抵達首領");
+            return;
+        }
+
+        long paths = routes.pathCount(current);
+        StringBuilder text = new StringBuilder("<html>路線: 到首領共 ")
+                .append(paths == Long.MAX_VALUE ? "極多" : String.valueOf(paths)).append(" 條");
+        for (int e = graph.edgeStart(current); e < graph.edgeEnd(current); e++) {
+            int next = graph.edgeTarget(e);
+            text.append("<br>").append(graph.type(next).name())
+                    .append(String.format(" 期望 %.1f / 最佳 %.1f", routes.expectedValue(next), routes.bestValue(next)))
+                    .append("<br>&nbsp;&nbsp;菁英 ").append(countRange(routes, next, NodeType.ELITE))
+                    .append(" 商店 ").append(countRange(routes, next, NodeType.SHOP))
+                    .append(" 休息 ").append(countRange(routes, next, NodeType.REST));
+        }
+        routeLabel.setText(text.append("</html>").toString());
     }
 
-    // ... (UI 輔助方法: createSidePanel, createCardButton, updateHandPanel)
+    private static String countRange(RouteAnalyzer routes, int node, NodeType type) {
+        int min = routes.minCount(node, type);
+        int max = routes.maxCount(node, type);
+        return min == max ? String.valueOf(min) : min + "~" + max;
+    }
+
+    // ... (UI 輔助方法: createSidePanel, updateHandPanel)
     // 為了縮減篇幅，部分方法保留在主類中，因為它們直接操作 Swing 元件
 
     private JPanel createSidePanel() {
@@ -262,7 +401,7 @@ public class Run extends JFrame implements GameLogger {
         topInfo.setBackground(Color.DARK_GRAY.darker());
         topInfo.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
-        for (JLabel label : new JLabel[] { playerHpLabel, energyLabel, pileStatusLabel }) {
+        for (JLabel label : new JLabel[] { playerHpLabel, energyLabel, pileStatusLabel, routeLabel }) {
             label.setForeground(Color.WHITE);
             label.setFont(GameConstants.UI_FONT);
             topInfo.add(label);
@@ -282,6 +421,11 @@ public class Run extends JFrame implements GameLogger {
         // --- 底部按鈕 (結束回合) ---
         JPanel bottomButtonPanel = new JPanel();
         bottomButtonPanel.setBackground(Color.DARK_GRAY);
+        bottomButtonPanel.setLayout(new BoxLayout(bottomButtonPanel, BoxLayout.Y_AXIS));
+        autoPlayButton.setAlignmentX(Component.CENTER_ALIGNMENT);
+        endTurnButton.setAlignmentX(Component.CENTER_ALIGNMENT);
+        bottomButtonPanel.add(autoPlayButton);
+        bottomButtonPanel.add(Box.createVerticalStrut(5));
         bottomButtonPanel.add(endTurnButton);
 
         sidePanel.add(bottomButtonPanel, BorderLayout.SOUTH);
@@ -289,115 +433,40 @@ public class Run extends JFrame implements GameLogger {
         return sidePanel;
     }
 
-    private JButton createCardButton(Card card) {
-        String description;
-        if (card.name.equals("重打+")) {
-            description = "傷害: " + card.value;
-        } else if (card.name.equals("治療術")) {
-            description = "治療: " + card.value;
-        } else if (card.type == CardType.ATTACK) {
-            description = "傷害: " + card.value;
-        } else {
-            description = "防禦: " + card.value;
-        }
-
-        JButton button = new JButton();
-        button.setToolTipText(card.description);
-
-        Color bgColor = card.type == CardType.ATTACK ? new Color(200, 50, 50) : new Color(50, 50, 200);
-        if (card.name.endsWith("+"))
-            bgColor = new Color(255, 165, 0);
-
-        boolean canPlay = player.energy >= card.energyCost && combatManager.playerTurn && combatManager.inCombat;
-
-        String lookupName = card.name;
-        if (!cardImages.containsKey(lookupName) && lookupName.endsWith("+")) {
-            lookupName = lookupName.substring(0, lookupName.length() - 1);
-        }
-
-        if (cardImages.containsKey(lookupName)) {
-            Image img = cardImages.get(lookupName);
-
-            // Create a buffered image to draw cost on it manually
-            int btnW = 120;
-            int btnH = 150;
-            BufferedImage combinedImage = new BufferedImage(btnW, btnH, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2d = combinedImage.createGraphics();
-
-            // 1. Draw base image
-            g2d.drawImage(img, 0, 0, btnW, btnH, null);
-
-            // 2. Draw Cost at bottom-right
-            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-            g2d.setFont(GameConstants.UI_FONT.deriveFont(java.awt.Font.BOLD, 24f));
-            String costText = String.valueOf(card.energyCost);
-            FontMetrics fm = g2d.getFontMetrics();
-            int costW = fm.stringWidth(costText);
-            int costH = fm.getAscent();
-
-            int padding = 10;
-            int costX = padding; // Bottom-Left
-            int costY = btnH - padding;
-
-            // Optional: Draw circle background for cost
-            g2d.setColor(new Color(0, 0, 0, 150));
-            g2d.fillOval(costX - 5, costY - costH - 5, Math.max(costW, costH) + 20, Math.max(costW, costH) + 20);
-
-            // Draw text
-            g2d.setColor(Color.WHITE); // Or energy color
-            g2d.drawString(costText, costX + 5, costY);
-
-            g2d.dispose();
-
-            button.setIcon(new ImageIcon(combinedImage));
-            button.setText(""); // Remove text overlay
-
-            // If cannot play, maybe gray it out or just disable
-            if (!canPlay) {
-                button.setEnabled(false);
-                // Optionally gray out icon
-            }
-        } else {
-            button.setText("<html><center><b>" + card.name + "</b> [" + card.energyCost + "]<br>" +
-                    description + "</center></html>");
-            button.setBackground(canPlay ? bgColor : bgColor.darker().darker());
-            button.setEnabled(canPlay);
-        }
-        button.setForeground(Color.WHITE);
-        button.setFont(GameConstants.UI_FONT.deriveFont(12f)); // Set font for card button
-        button.setPreferredSize(new Dimension(120, 150));
-        button.setEnabled(canPlay);
-
-        button.addActionListener(e -> {
-            Enemy target = combatManager.enemies.isEmpty() ? null : combatManager.enemies.get(0);
-            combatManager.playCard(card, target);
-        });
-        return button;
-    }
-
     private void updateHandPanel() {
-        handPanel.removeAll();
-        handPanel.setLayout(new FlowLayout(FlowLayout.CENTER, 10, 10));
-
-        List<Card> sortedHand = player.hand.stream()
-                .sorted(Comparator.comparing(card -> card.type.toString()))
-                .collect(Collectors.toList());
-
-        if (combatManager.inCombat) {
-            for (Card card : sortedHand) {
-                JButton cardButton = createCardButton(card);
-                handPanel.add(cardButton);
-            }
-        }
-
-        handPanel.revalidate();
-        handPanel.repaint();
+        if (combatManager.isInCombat())
+            handDisplay.update(player.hand, player.energy, combatManager.isPlayerTurn());
+        else
+            handDisplay.update(null, 0, false);
     }
 
     // --------------------------------------------------
     // 主函數
     // --------------------------------------------------
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(Run::new);
+        long startNanos = System.nanoTime();
+        SpriteAtlas.getShared(); // 在建立視窗之前就開始背景解碼
+        SwingUtilities.invokeLater(() -> new Run().reportStartup(startNanos));
+    }
+
+    // 啟動計時: 從 main 開始到第一幀畫出、到所有圖片載入完成 (兩者都發生後印出一次)
+    private void reportStartup(long startNanos) {
+        startupNanos = startNanos;
+        gamePanel.setFirstFrameListener(() -> {
+            firstFrameNanos = System.nanoTime();
+            printStartupReport();
+        });
+        SpriteAtlas.getShared().ready().thenRun(() -> SwingUtilities.invokeLater(() -> {
+            assetsReadyNanos = System.nanoTime();
+            printStartupReport();
+        }));
+    }
+
+    private void printStartupReport() {
+        if (firstFrameNanos == 0 || assetsReadyNanos == 0)
+            return;
+        System.out.println(String.format("啟動計時: 首幀 %.0f ms | 圖片全部載入 %.0f ms (%d 個載入執行緒)",
+                (firstFrameNanos - startupNanos) / 1e6, (assetsReadyNanos - startupNanos) / 1e6,
+                GameConstants.ASSET_LOADER_THREADS));
     }
 }
\ No newline at end of file
@@ -0,0 +1,167 @@
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import javax.imageio.ImageIO;
+import javax.swing.SwingUtilities;
+
+// 執行期的圖集 (由 AtlasPacker 產生)。
+// 索引與各頁圖集在背景執行緒池上平行解碼，呼叫端不會被阻塞：request() 在圖片可用時於 EDT 回呼，
+// 畫面在那之前先用原本的替代圖形 (方塊 / 圓形 / 純文字按鈕)。
+// 每頁只解碼一次，子圖共用同一塊像素。圖集或索引中缺少的圖會退回個別讀取原始 PNG，
+// 新增圖片後忘了重新打包也能執行。
+// 索引記錄每張原圖打包時的 CRC32；載入時 (與解碼圖集平行) 讀原圖位元組比對，
+// 原圖修改過而圖集未重新打包時印出警告並改用原圖，不會默默顯示舊圖。
+public final class SpriteAtlas {
+    private static SpriteAtlas shared;
+
+    private final ClassLoader loader;
+    private final ExecutorService pool;
+    private final CompletableFuture<Index> index;
+    private final CompletableFuture<List<CompletableFuture<BufferedImage>>> pages;
+    private final Map<String, CompletableFuture<Image>> images = new ConcurrentHashMap<>();
+
+    private static final class Index {
+        final List<String> pagePaths = new ArrayList<>();
+        final Map<String, int[]> regions = new HashMap<>(); // 路徑 -> {頁, x, y, 寬, 高, 原圖 CRC32}
+    }
+
+    private SpriteAtlas(ClassLoader loader, int threads) {
+        this.loader = loader;
+        this.pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "asset-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.index = CompletableFuture.supplyAsync(this::readIndex, pool);
+        // 索引一讀完就讓所有頁同時開始解碼
+        this.pages = index.thenApply(ix -> {
+            List<CompletableFuture<BufferedImage>> list = new ArrayList<>();
+            for (String pagePath : ix.pagePaths)
+                list.add(CompletableFuture.supplyAsync(() -> readImage(pagePath), pool));
+            return list;
+        });
+    }
+
+    // 整個程式共用一份；第一次呼叫即開始在背景載入
+    public static synchronized SpriteAtlas getShared() {
+        if (shared == null)
+            shared = new SpriteAtlas(SpriteAtlas.class.getClassLoader(), GameConstants.ASSET_LOADER_THREADS);
+        return shared;
+    }
+
+    // 圖片可用時在 EDT 上呼叫 onLoaded；載入失敗則只印出錯誤
+    public void request(String path, Consumer<Image> onLoaded) {
+        image(path).thenAccept(image -> {
+            if (image != null)
+                SwingUtilities.invokeLater(() -> onLoaded.accept(image));
+        });
+    }
+
+    // 阻塞等待 (工具程式與測試用)；找不到回傳 null
+    public Image get(String path) {
+        return image(path).join();
+    }
+
+    // 所有頁都解碼完成 (或失敗) 時完成
+    public CompletableFuture<Void> ready() {
+        return pages.thenCompose(list -> CompletableFuture.allOf(list.toArray(new CompletableFuture<?>[0])));
+    }
+
+    private CompletableFuture<Image> image(String path) {
+        return images.computeIfAbsent(path, key -> pages.thenCompose(list -> {
+            int[] region = index.join().regions.get(key); // pages 完成時 index 必定已完成
+            if (region == null)
+                return CompletableFuture.supplyAsync(() -> (Image) readImage(key), pool);
+            CompletableFuture<Boolean> packed = CompletableFuture.supplyAsync(() -> matchesSource(key, region[5]),
+                    pool);
+            return list.get(region[0]).thenCombine(packed, (page, upToDate) -> page != null && upToDate
+                    ? (Image) page.getSubimage(region[1], region[2], region[3], region[4])
+                    : null).thenCompose(sub -> sub != null ? CompletableFuture.completedFuture(sub)
+                            : CompletableFuture.supplyAsync(() -> (Image) readImage(key), pool));
+        }));
+    }
+
+    // 原圖與打包時相同 (或只隨附圖集、沒有原圖) 時回傳 true
+    private boolean matchesSource(String path, int packedCrc) {
+        URL url = loader.getResource(path);
+        if (url == null)
+            return true;
+        try (InputStream in = url.openStream()) {
+            int crc = crc32(in);
+            if (crc == packedCrc)
+                return true;
+            System.err.println(path + " changed since the atlas was packed (run AtlasPacker); loading it separately");
+        } catch (IOException e) {
+            System.err.println("Error checking image " + path + ": " + e.getMessage());
+        }
+        return false;
+    }
+
+    // AtlasPacker 寫入索引時使用相同的計算
+    static int crc32(InputStream in) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[64 * 1024];
+        int n;
+        while ((n = in.read(buffer)) > 0)
+            crc.update(buffer, 0, n);
+        return (int) crc.getValue();
+    }
+
+    // 格式: 「page 圖集路徑」開始一頁，之後每行「資源路徑 x y 寬 高 原圖CRC32(十六進位)」屬於該頁
+    private Index readIndex() {
+        Index ix = new Index();
+        URL url = loader.getResource(GameConstants.RES_ATLAS_INDEX);
+        if (url == null) {
+            System.err.println("Could not find sprite atlas index at: " + GameConstants.RES_ATLAS_INDEX
+                    + " (run AtlasPacker); loading images one by one");
+            return ix;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.trim().split(" ");
+                if (parts.length == 2 && parts[0].equals("page")) {
+                    ix.pagePaths.add(parts[1]);
+                } else if (parts.length == 6 && !ix.pagePaths.isEmpty()) {
+                    ix.regions.put(parts[0], new int[] { ix.pagePaths.size() - 1, Integer.parseInt(parts[1]),
+                            Integer.parseInt(parts[2]), Integer.parseInt(parts[3]), Integer.parseInt(parts[4]),
+                            (int) Long.parseLong(parts[5], 16) });
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error loading sprite atlas index: " + e.getMessage());
+            ix.regions.clear();
+        }
+        return ix;
+    }
+
+    private BufferedImage readImage(String path) {
+        URL url = loader.getResource(path);
+        if (url == null) {
+            System.err.println("Could not find image at: " + path);
+            return null;
+        }
+        try (InputStream in = url.openStream()) {
+            return ImageIO.read(in);
+        } catch (IOException e) {
+            System.err.println("Error loading image " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+// 預先縮放、與螢幕格式相容的精靈圖快取。
+// ImageIO 讀入的原圖 (多為 4BYTE_ABGR 或索引色) 每幀縮放繪製會走 Java2D 的慢速路徑；
+// 這裡依目前的 GraphicsConfiguration 與其縮放倍率 (HiDPI) 各轉換一次，之後每幀只做 1:1 複製。
+// 視窗移到不同 DPI 的螢幕時 validate() 會讓所有精靈在下次繪製時重新產生。
+//
+// -Dgame.spriteCache=false 可停用快取 (直接縮放原圖)，用來比較繪製時間。
+public final class SpriteCache {
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("game.spriteCache"));
+
+    private GraphicsConfiguration config;
+    private double scaleX = 1;
+    private double scaleY = 1;
+    private int generation = 0;
+
+    public Sprite register(Image source, int width, int height) {
+        return new Sprite(source, width, height);
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    // 每次繪製前呼叫；GraphicsConfiguration 物件改變 (換螢幕 / DPI) 時才重新產生
+    public void validate(GraphicsConfiguration gc) {
+        if (gc == config)
+            return;
+        config = gc;
+        scaleX = 1;
+        scaleY = 1;
+        if (gc != null) {
+            AffineTransform transform = gc.getDefaultTransform();
+            scaleX = transform.getScaleX();
+            scaleY = transform.getScaleY();
+        }
+        generation++;
+    }
+
+    public final class Sprite {
+        private Image source; // 非同步載入完成前為 null
+        public final int width;
+        public final int height;
+        private BufferedImage scaled;
+        private int scaledGeneration = -1;
+
+        private Sprite(Image source, int width, int height) {
+            this.source = source;
+            this.width = width;
+            this.height = height;
+        }
+
+        public boolean isLoaded() {
+            return source != null;
+        }
+
+        // 背景載入的原圖到達時 (EDT 上) 換入，下次繪製重新產生縮放圖
+        public void setSource(Image source) {
+            this.source = source;
+            this.scaled = null;
+        }
+
+        public void draw(Graphics2D g2d, int x, int y) {
+            if (source == null)
+                return;
+            if (!ENABLED) {
+                g2d.drawImage(source, x, y, width, height, null);
+                return;
+            }
+            if (scaled == null || scaledGeneration != generation)
+                rebuild();
+            // 在 HiDPI 下影像是裝置像素大小，經預設轉換後仍是 1:1
+            g2d.drawImage(scaled, x, y, width, height, null);
+        }
+
+        private void rebuild() {
+            int pixelWidth = Math.max(1, (int) Math.ceil(width * scaleX));
+            int pixelHeight = Math.max(1, (int) Math.ceil(height * scaleY));
+            BufferedImage image = config != null
+                    ? config.createCompatibleImage(pixelWidth, pixelHeight, Transparency.TRANSLUCENT)
+                    : new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = image.createGraphics();
+            try {
+                g.setComposite(AlphaComposite.Src);
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(source, 0, 0, pixelWidth, pixelHeight, null);
+            } finally {
+                g.dispose();
+            }
+            scaled = image;
+            scaledGeneration = generation;
+        }
+    }
+}
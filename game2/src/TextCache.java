@@ -0,0 +1,123 @@
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.LineMetrics;
+
+// HUD 文字快取：每個標籤持有自己的字型與排版好的 GlyphVector，
+// 只有數字 (或文字) 改變、或 FontRenderContext 改變 (縮放 / 抗鋸齒設定) 時才重新組字串與排版，
+// 其餘每幀只做 drawGlyphVector，不再 deriveFont、字串串接與中日韓字形排版。
+// 只供 EDT 使用。
+public final class TextCache {
+    private TextCache() {
+    }
+
+    public static Label label(Font font, String format) {
+        return new Label(font, format);
+    }
+
+    public static final class Label {
+        private final Font font;
+        private final String format; // String.format 格式，最多兩個整數參數；沒有參數時即為固定文字
+
+        private GlyphVector glyphs;
+        private FontRenderContext context;
+        private int argCount = -1;
+        private int lastA, lastB;
+        private String lastText;
+        private float advance;
+        private float ascent;
+
+        private Label(Font font, String format) {
+            this.font = font;
+            this.format = format;
+        }
+
+        public Font getFont() {
+            return font;
+        }
+
+        public void draw(Graphics2D g2d, float x, float y) {
+            prepare(g2d, 0, 0, 0, null);
+            g2d.drawGlyphVector(glyphs, x, y);
+        }
+
+        public void draw(Graphics2D g2d, int a, float x, float y) {
+            prepare(g2d, 1, a, 0, null);
+            g2d.drawGlyphVector(glyphs, x, y);
+        }
+
+        public void draw(Graphics2D g2d, int a, int b, float x, float y) {
+            prepare(g2d, 2, a, b, null);
+            g2d.drawGlyphVector(glyphs, x, y);
+        }
+
+        // 內容是任意字串 (例如敵人名稱)；以 equals 比對，同一字串不會重新排版
+        public void drawText(Graphics2D g2d, String text, float x, float y) {
+            prepare(g2d, 3, 0, 0, text);
+            g2d.drawGlyphVector(glyphs, x, y);
+        }
+
+        // 目前內容的寬度與基線上方高度 (需先 draw 或 measure 過)
+        public float getAdvance() {
+            return advance;
+        }
+
+        public float getAscent() {
+            return ascent;
+        }
+
+        // 只排版不繪製，用於置中前先取得寬度
+        public Label measure(Graphics2D g2d) {
+            prepare(g2d, 0, 0, 0, null);
+            return this;
+        }
+
+        private void prepare(Graphics2D g2d, int args, int a, int b, String text) {
+            FontRenderContext frc = g2d.getFontRenderContext();
+            boolean same = glyphs != null && args == argCount && (frc == context || frc.equals(context));
+            if (same) {
+                switch (args) {
+                    case 1:
+                        same = a == lastA;
+                        break;
+                    case 2:
+                        same = a == lastA && b == lastB;
+                        break;
+                    case 3:
+                        same = text.equals(lastText);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            if (same)
+                return;
+
+            String content;
+            switch (args) {
+                case 1:
+                    content = String.format(format, a);
+                    break;
+                case 2:
+                    content = String.format(format, a, b);
+                    break;
+                case 3:
+                    content = text;
+                    break;
+                default:
+                    content = format;
+                    break;
+            }
+            glyphs = font.createGlyphVector(frc, content);
+            advance = (float) glyphs.getLogicalBounds().getWidth();
+            LineMetrics metrics = font.getLineMetrics(content, frc);
+            ascent = metrics.getAscent();
+            context = frc;
+            argCount = args;
+            lastA = a;
+            lastB = b;
+            lastText = text;
+        }
+    }
+}
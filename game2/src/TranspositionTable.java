@@ -0,0 +1,223 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 固定大小、無鎖的置換表 (transposition table)，以 ZobristHasher 的雜湊為鍵。
+//
+// 每個槽位存兩個 long：(key ^ data) 與 data。讀取時以 key ^ data 驗證，
+// 若另一條執行緒同時寫入造成撕裂，驗證會失敗並視為未命中，因此不需要任何鎖。
+//
+// 每個 bucket 有兩個槽位：第一個保留深度較深 (或同一輪搜尋) 的結果，第二個永遠覆寫。
+// data 打包格式: value(32) | depth(8) | move(8) | bound(2) | generation(6) | valid(1)
+//
+// 用法 (並行壓力測試): java TranspositionTable [執行緒數] [每條執行緒操作數]
+public final class TranspositionTable {
+    public static final long MISS = 0L;
+
+    public static final int BOUND_EXACT = 0;
+    public static final int BOUND_LOWER = 1;
+    public static final int BOUND_UPPER = 2;
+
+    private static final long VALID = 1L;
+
+    private final long[] slots;
+    private final int bucketMask;
+    private int generation = 0;
+
+    // capacityBits: bucket 數量為 2^capacityBits，每個 bucket 佔 32 bytes
+    public TranspositionTable(int capacityBits) {
+        int buckets = 1 << capacityBits;
+        slots = new long[buckets * 4];
+        bucketMask = buckets - 1;
+    }
+
+    // 新一輪搜尋：舊資料在替換時優先被淘汰
+    public void newSearch() {
+        generation = (generation + 1) & 0x3F;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, 0L);
+        generation = 0;
+    }
+
+    public long probe(long key) {
+        int base = ((int) key & bucketMask) << 2;
+        for (int slot = base; slot < base + 4; slot += 2) {
+            long data = slots[slot + 1];
+            if (data != MISS && (slots[slot] ^ data) == key)
+                return data;
+        }
+        return MISS;
+    }
+
+    public void store(long key, int value, int depth, int move, int bound) {
+        long data = pack(value, depth, move, bound, generation);
+        int base = ((int) key & bucketMask) << 2;
+
+        long existing = slots[base + 1];
+        boolean sameKey = existing != MISS && (slots[base] ^ existing) == key;
+        if (existing == MISS || sameKey || generation(existing) != generation || depth >= depth(existing)) {
+            write(base, key, data);
+        } else {
+            write(base + 2, key, data);
+        }
+    }
+
+    private void write(int slot, long key, long data) {
+        slots[slot + 1] = data;
+        slots[slot] = key ^ data;
+    }
+
+    public int capacity() {
+        return slots.length / 2;
+    }
+
+    // --- 打包 / 解包 ---
+
+    private static long pack(int value, int depth, int move, int bound, int generation) {
+        return ((long) value << 32)
+                | ((long) (Math.min(depth, 255) & 0xFF) << 24)
+                | ((long) ((move + 1) & 0xFF) << 16) // move = -1 (END_TURN) 存成 0
+                | ((long) (bound & 0x3) << 8)
+                | ((long) (generation & 0x3F) << 1)
+                | VALID;
+    }
+
+    public static int value(long data) {
+        return (int) (data >> 32);
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> 24) & 0xFF;
+    }
+
+    public static int move(long data) {
+        return ((int) (data >>> 16) & 0xFF) - 1;
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> 8) & 0x3;
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> 1) & 0x3F;
+    }
+
+    // 勝率等機率值以 float 位元存放於 value 欄位
+    public static int encodeProbability(float p) {
+        return Float.floatToRawIntBits(p);
+    }
+
+    public static float decodeProbability(long data) {
+        return Float.intBitsToFloat(value(data));
+    }
+
+    // --- 壓力測試：先檢查替換策略，再讓多條執行緒同時讀寫一個很小的表 ---
+    // 寫入的 value / move 都由鍵推得，讀到命中卻與鍵不符就代表撕裂的寫入被當成了有效資料。
+
+    private static final int STRESS_KEYS = 512;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0])
+                : Math.max(4, Runtime.getRuntime().availableProcessors());
+        long operations = args.length > 1 ? Long.parseLong(args[1]) : 5_000_000L;
+
+        checkReplacement();
+        System.out.println("替換策略: OK");
+
+        // 64 個 bucket 對 512 個鍵，同一個槽位會被不同執行緒頻繁覆寫
+        TranspositionTable table = new TranspositionTable(6);
+        long[] keys = new long[STRESS_KEYS];
+        GameRandom keySource = new GameRandom(1);
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = keySource.nextLong() | 1L; // 避免 0 (與 MISS 相同)
+
+        AtomicLong hits = new AtomicLong();
+        AtomicLong probes = new AtomicLong();
+        AtomicLong corrupt = new AtomicLong();
+        List<Thread> workers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            long seed = 100 + t;
+            Thread worker = new Thread(() -> {
+                GameRandom random = new GameRandom(seed);
+                long localHits = 0;
+                long localProbes = 0;
+                long localCorrupt = 0;
+                for (long i = 0; i < operations; i++) {
+                    long key = keys[random.nextInt(STRESS_KEYS)];
+                    if ((i & 1) == 0) {
+                        table.store(key, expectedValue(key), random.nextInt(256), expectedMove(key), BOUND_EXACT);
+                        if ((i & 0xFFFF) == 0)
+                            table.newSearch(); // 讓替換策略的兩條路徑都被走到
+                        continue;
+                    }
+                    long data = table.probe(key);
+                    localProbes++;
+                    if (data == MISS)
+                        continue;
+                    localHits++;
+                    if (value(data) != expectedValue(key) || move(data) != expectedMove(key))
+                        localCorrupt++;
+                }
+                hits.addAndGet(localHits);
+                probes.addAndGet(localProbes);
+                corrupt.addAndGet(localCorrupt);
+            }, "tt-stress-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers)
+            worker.join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println(String.format("%d 執行緒 | %,d 次操作 | %,.0f 次/秒 | 命中 %.1f%% | 錯誤資料 %d",
+                threads, operations * threads, operations * threads / seconds, 100.0 * hits.get() / probes.get(),
+                corrupt.get()));
+        if (corrupt.get() != 0)
+            throw new IllegalStateException("transposition table returned data for the wrong key");
+    }
+
+    private static int expectedValue(long key) {
+        return (int) GameRandom.mix64(key);
+    }
+
+    private static int expectedMove(long key) {
+        return (int) (key >>> 57) - 1; // -1..126
+    }
+
+    // 同一 bucket 內：較深的結果留在第一槽，較淺的輪流寫入第二槽；新一輪搜尋後第一槽可被覆寫
+    private static void checkReplacement() {
+        TranspositionTable table = new TranspositionTable(4);
+        long deep = 0x100L | 3;
+        long shallow = 0x200L | 3;
+        long other = 0x300L | 3;
+        long fresh = 0x400L | 3;
+
+        table.store(deep, 1, 10, 0, BOUND_EXACT);
+        table.store(shallow, 2, 3, 0, BOUND_LOWER);
+        require(table.probe(deep) != MISS && table.probe(shallow) != MISS, "both entries stored");
+        require(bound(table.probe(shallow)) == BOUND_LOWER && depth(table.probe(deep)) == 10, "fields round-trip");
+
+        table.store(other, 3, 2, -1, BOUND_UPPER);
+        require(table.probe(deep) != MISS, "deeper entry kept");
+        require(table.probe(shallow) == MISS, "second slot replaced");
+        require(move(table.probe(other)) == -1, "END_TURN move round-trips");
+
+        table.store(deep, 4, 1, 0, BOUND_EXACT);
+        require(value(table.probe(deep)) == 4, "same key overwrites");
+
+        table.newSearch();
+        table.store(fresh, 5, 0, 0, BOUND_EXACT);
+        require(table.probe(deep) == MISS && value(table.probe(fresh)) == 5, "stale generation replaced");
+
+        require(decodeProbability(pack(encodeProbability(0.25f), 0, 0, 0, 0)) == 0.25f, "probability round-trips");
+    }
+
+    private static void require(boolean condition, String what) {
+        if (!condition)
+            throw new IllegalStateException("replacement check failed: " + what);
+    }
+}
@@ -0,0 +1,90 @@
+import java.util.Arrays;
+import java.util.List;
+
+// 戰鬥狀態的 Zobrist 雜湊。
+// 三個牌堆各自視為多重集合 (每種卡牌的張數)，因此出牌順序不同但結果相同的狀態會得到相同的雜湊；
+// 另外納入玩家的 energy / block / health 與每個敵人的 health / block。
+//
+// 每次 hash() 都重新計數所有牌堆 (牌組只有十幾張，比追蹤每次移動簡單)。
+// 亂數鍵為全域共用 (固定種子)；實例內只有計數用的暫存陣列，每條執行緒使用自己的實例。
+public final class ZobristHasher {
+    public static final int PILE_DRAW = 0;
+    public static final int PILE_HAND = 1;
+    public static final int PILE_DISCARD = 2;
+
+    private static final int PILES = 3;
+    private static final int MAX_COUNT = 32;
+    private static final int MAX_STAT = 256;
+    private static final int MAX_ENEMIES = 8;
+
+    private static final int FEATURE_ENERGY = 0;
+    private static final int FEATURE_BLOCK = 1;
+    private static final int FEATURE_HEALTH = 2;
+    private static final int FEATURE_ENEMY_BASE = 3; // 每個敵人佔兩個 feature (health, block)
+
+    private static final long[] PILE_KEYS;
+    private static final long[] STAT_KEYS;
+    private static final long PLAYER_TURN_KEY;
+
+    static {
+        GameRandom random = new GameRandom(0x5EEDL);
+        PILE_KEYS = new long[PILES * CardRegistry.size() * MAX_COUNT];
+        for (int i = 0; i < PILE_KEYS.length; i++)
+            PILE_KEYS[i] = random.nextLong();
+        STAT_KEYS = new long[(FEATURE_ENEMY_BASE + 2 * MAX_ENEMIES) * MAX_STAT];
+        for (int i = 0; i < STAT_KEYS.length; i++)
+            STAT_KEYS[i] = random.nextLong();
+        PLAYER_TURN_KEY = random.nextLong();
+    }
+
+    private final int[] counts = new int[PILES * CardRegistry.size()];
+
+    // 某牌堆中某種卡牌恰好有 count 張時的鍵 (count = 0 為 0，沒有該種卡牌時不影響雜湊)
+    private static long pileKey(int pile, int definitionId, int count) {
+        if (count == 0)
+            return 0;
+        if (count < MAX_COUNT)
+            return PILE_KEYS[(pile * CardRegistry.size() + definitionId) * MAX_COUNT + count];
+        return GameRandom.mix64(0x9E3779B97F4A7C15L * (pile * 4099L + definitionId * 131L + count + 1));
+    }
+
+    private static long statKey(int feature, int value) {
+        if (value >= 0 && value < MAX_STAT && feature < FEATURE_ENEMY_BASE + 2 * MAX_ENEMIES)
+            return STAT_KEYS[feature * MAX_STAT + value];
+        return GameRandom.mix64(0xBF58476D1CE4E5B9L * (feature * 1_000_003L + value + 7));
+    }
+
+    public long hash(CombatEngine engine) {
+        Player player = engine.player;
+        CardPiles piles = player.piles;
+        int kinds = CardRegistry.size();
+        Arrays.fill(counts, 0);
+
+        for (int i = 0; i < piles.drawCount(); i++)
+            counts[PILE_DRAW * kinds + player.deck.get(i).definition.id]++;
+        for (int i = 0; i < piles.handCount(); i++)
+            counts[PILE_HAND * kinds + piles.handCard(i).definition.id]++;
+        for (int i = 0; i < piles.discardCount(); i++)
+            counts[PILE_DISCARD * kinds + player.discardPile.get(i).definition.id]++;
+
+        long h = 0;
+        for (int pile = 0; pile < PILES; pile++) {
+            for (int id = 0; id < kinds; id++)
+                h ^= pileKey(pile, id, counts[pile * kinds + id]);
+        }
+
+        h ^= statKey(FEATURE_ENERGY, player.energy);
+        h ^= statKey(FEATURE_BLOCK, player.block);
+        h ^= statKey(FEATURE_HEALTH, player.health);
+
+        List<Enemy> roster = engine.roster;
+        for (int i = 0; i < roster.size(); i++) {
+            Enemy enemy = roster.get(i);
+            h ^= statKey(FEATURE_ENEMY_BASE + 2 * i, Math.max(0, enemy.health));
+            h ^= statKey(FEATURE_ENEMY_BASE + 2 * i + 1, enemy.block);
+        }
+        if (engine.playerTurn)
+            h ^= PLAYER_TURN_KEY;
+        return h;
+    }
+}